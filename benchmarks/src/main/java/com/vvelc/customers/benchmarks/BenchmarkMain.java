@@ -0,0 +1,24 @@
+package com.vvelc.customers.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Same options as {@link Main}, but unless {@code -rf} is given the
+ * results are also written as JSON to {@code jmh-result.json}, so runs of different releases can be compared.
+ */
+public class BenchmarkMain {
+
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(List.of(args));
+        if (!options.contains("-rf")) {
+            options.addAll(List.of("-rf", "json"));
+            if (!options.contains("-rff")) options.addAll(List.of("-rff", DEFAULT_RESULT_FILE));
+        }
+        Main.main(options.toArray(String[]::new));
+    }
+}
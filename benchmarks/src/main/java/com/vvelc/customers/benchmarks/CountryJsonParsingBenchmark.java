@@ -0,0 +1,56 @@
+package com.vvelc.customers.benchmarks;
+
+import com.vvelc.customers.application.model.CountryInfo;
+import com.vvelc.customers.infrastructure.adapter.rest.CountryJsonParser;
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonReaderFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a recorded {@code /v3.1/alpha/us} payload: the JSON-P tree the adapter used to build with
+ * {@code readEntity(JsonArray.class)} versus the {@link CountryJsonParser} pull parser.
+ * Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CountryJsonParsingBenchmark {
+
+    private byte[] payload;
+    private JsonReaderFactory readerFactory;
+
+    @Setup
+    public void load() throws IOException {
+        readerFactory = Json.createReaderFactory(null);
+        try (InputStream in = getClass().getResourceAsStream("/restcountries/alpha-us.json")) {
+            payload = in.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public CountryInfo jsonpTree() {
+        try (JsonReader reader = readerFactory.createReader(new ByteArrayInputStream(payload))) {
+            JsonArray jsonArray = reader.readArray();
+            JsonObject json = jsonArray.getJsonObject(0);
+            String name = json.getJsonObject("name").getString("common", "Unknown");
+            String demonym = json.getJsonObject("demonyms").getJsonObject("eng").getString("m", "N/A");
+            return new CountryInfo("US", name, demonym);
+        }
+    }
+
+    @Benchmark
+    public CountryInfo streaming() throws IOException {
+        return CountryJsonParser.parseFirst("US", new ByteArrayInputStream(payload));
+    }
+}
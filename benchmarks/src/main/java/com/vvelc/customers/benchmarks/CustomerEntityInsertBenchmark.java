@@ -0,0 +1,175 @@
+package com.vvelc.customers.benchmarks;
+
+import com.vvelc.customers.infrastructure.persistence.entity.CustomerEntity;
+import com.vvelc.customers.infrastructure.persistence.mapper.CustomerMapper;
+import jakarta.persistence.*;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Insert throughput (rows per second) of customers persisted through Hibernate, bootstrapped outside Quarkus with
+ * the settings of {@code application.properties} (batch size 50, ordered inserts):
+ * <ul>
+ *     <li>{@code identity}: {@link IdentityCustomerEntity}, the mapping before V4. Hibernate inserts each row as
+ *     soon as it is persisted to read its id, so nothing is batched.</li>
+ *     <li>{@code sequence}: {@link CustomerEntity}, ids from {@code customers_id_seq} in blocks of
+ *     {@value CustomerEntity#ID_ALLOCATION_SIZE} and JDBC-batched inserts at flush.</li>
+ * </ul>
+ * {@code single} persists every row in its own transaction, like {@code POST /customers}; {@code batch} persists
+ * {@value #ROWS} rows in one, like {@code POST /customers/batch}. The default in-memory H2 has no network round
+ * trips and understates the difference; pass {@code -p url=jdbc:postgresql://localhost:5432/customers_bench
+ * -p user=quarkus -p password=quarkus} to measure against PostgreSQL. It drops and recreates the {@code customers}
+ * table, so point it at a scratch database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.jboss.logging.provider=jdk")
+public class CustomerEntityInsertBenchmark {
+
+    static final int ROWS = 100;
+
+    @Param({"identity", "sequence"})
+    public String ids;
+
+    @Param({"single", "batch"})
+    public String commit;
+
+    @Param("jdbc:h2:mem:entity-insert;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+    public String url;
+
+    @Param("sa")
+    public String user;
+
+    @Param("")
+    public String password;
+
+    private SessionFactory sessionFactory;
+    private long row;
+
+    @Setup(Level.Trial)
+    public void createTable() {
+        // Outside Quarkus every logger is at ALL, and Hibernate's trace logging of each bound value would dominate
+        Logger.getLogger("org.hibernate").setLevel(java.util.logging.Level.WARNING);
+
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(ids.equals("identity") ? IdentityCustomerEntity.class : CustomerEntity.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, user)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, password)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory();
+    }
+
+    // Keeps every iteration inserting into a table of the same size
+    @Setup(Level.Iteration)
+    public void truncate() {
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery("TRUNCATE TABLE customers").executeUpdate());
+    }
+
+    @TearDown(Level.Trial)
+    public void dropTable() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long insert() {
+        long checksum = 0;
+        if (commit.equals("single")) {
+            for (int i = 0; i < ROWS; i++) {
+                try (Session session = sessionFactory.openSession()) {
+                    session.getTransaction().begin();
+                    checksum += persist(session);
+                    session.getTransaction().commit();
+                }
+            }
+        } else {
+            try (Session session = sessionFactory.openSession()) {
+                session.getTransaction().begin();
+                for (int i = 0; i < ROWS; i++) {
+                    checksum += persist(session);
+                }
+                session.getTransaction().commit();
+            }
+        }
+        return checksum;
+    }
+
+    private long persist(Session session) {
+        CustomerEntity customer = CustomerMapper.toEntity(Customers.customer(++row));
+        customer.setId(null);
+        customer.setEmail("customer" + row + "@bench.com");
+        if (ids.equals("identity")) {
+            IdentityCustomerEntity entity = new IdentityCustomerEntity(customer);
+            session.persist(entity);
+            return entity.id;
+        }
+        session.persist(customer);
+        return customer.getId();
+    }
+
+    /**
+     * {@link CustomerEntity} as it was mapped before V4, with a database-generated id.
+     */
+    @Entity
+    @Table(name = "customers", uniqueConstraints = @UniqueConstraint(name = "uk_customer_email", columnNames = "email"))
+    public static class IdentityCustomerEntity {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @Column(name = "first_name", nullable = false, length = 50)
+        String firstName;
+
+        @Column(name = "second_name", length = 50)
+        String secondName;
+
+        @Column(name = "first_last_name", nullable = false, length = 50)
+        String firstLastName;
+
+        @Column(name = "second_last_name", length = 50)
+        String secondLastName;
+
+        @Column(name = "email", nullable = false, length = 100)
+        String email;
+
+        @Column(name = "address", nullable = false, length = 255)
+        String address;
+
+        @Column(name = "phone", nullable = false, length = 20)
+        String phone;
+
+        @Column(name = "country", nullable = false, length = 50)
+        String country;
+
+        @Column(name = "demonym", nullable = false, length = 50)
+        String demonym;
+
+        protected IdentityCustomerEntity() {
+        }
+
+        IdentityCustomerEntity(CustomerEntity customer) {
+            this.firstName = customer.getFirstName();
+            this.secondName = customer.getSecondName();
+            this.firstLastName = customer.getFirstLastName();
+            this.secondLastName = customer.getSecondLastName();
+            this.email = customer.getEmail();
+            this.address = customer.getAddress();
+            this.phone = customer.getPhone();
+            this.country = customer.getCountry();
+            this.demonym = customer.getDemonym();
+        }
+    }
+}
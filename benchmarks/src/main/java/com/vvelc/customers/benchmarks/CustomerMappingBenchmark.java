@@ -0,0 +1,47 @@
+package com.vvelc.customers.benchmarks;
+
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.infrastructure.persistence.entity.CustomerEntity;
+import com.vvelc.customers.infrastructure.persistence.mapper.CustomerMapper;
+import com.vvelc.customers.interface_.rest.dto.CustomerResponse;
+import com.vvelc.customers.interface_.rest.mapper.CustomerDtoMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-customer cost of the mappers every read and write goes through: entity to domain and back
+ * ({@link CustomerMapper}) and domain to response DTO ({@link CustomerDtoMapper}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerMappingBenchmark {
+
+    private CustomerEntity entity;
+    private Customer customer;
+
+    @Setup
+    public void setup() {
+        customer = Customers.customer(1L);
+        entity = CustomerMapper.toEntity(customer);
+    }
+
+    @Benchmark
+    public Customer entityToDomain() {
+        return CustomerMapper.toDomain(entity);
+    }
+
+    @Benchmark
+    public CustomerEntity domainToEntity() {
+        return CustomerMapper.toEntity(customer);
+    }
+
+    @Benchmark
+    public CustomerResponse domainToDto() {
+        return CustomerDtoMapper.toDto(customer);
+    }
+}
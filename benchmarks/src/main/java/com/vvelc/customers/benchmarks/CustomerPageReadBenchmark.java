@@ -0,0 +1,133 @@
+package com.vvelc.customers.benchmarks;
+
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.infrastructure.persistence.entity.CustomerEntity;
+import com.vvelc.customers.infrastructure.persistence.mapper.CustomerMapper;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.jpa.HibernateHints;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Cost of reading one page of customers ({@code GET /customers?pagination=cursor}) through Hibernate, bootstrapped outside Quarkus
+ * on in-memory H2:
+ * <ul>
+ *     <li>{@code entity}: managed {@link CustomerEntity} instances, snapshotted for dirty checking, copied with
+ *     {@link CustomerMapper#toDomain} (the repository before the projections).</li>
+ *     <li>{@code projection}: read-only constructor projection into {@link Customer}
+ *     ({@link #SELECT_CUSTOMERS}, the query {@code CustomerRepositoryImpl} reads with).</li>
+ *     <li>{@code jdbc}: the same rows read into {@link Customer} with a plain prepared statement, the floor set by
+ *     the driver and the database. H2 runs in the benchmark JVM, so its allocations are counted too.</li>
+ * </ul>
+ * Every page is read in its own session, like a request. Run with {@code -prof gc}: {@code gc.alloc.rate.norm} is
+ * the bytes allocated per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.jboss.logging.provider=jdk")
+public class CustomerPageReadBenchmark {
+
+    static final int ROWS = 10_000;
+
+    // Copy of CustomerRepositoryImpl.SELECT_CUSTOMERS, which is package-private
+    static final String SELECT_CUSTOMERS = "select new com.vvelc.customers.domain.model.Customer(c.id, "
+            + "c.firstName, c.secondName, c.firstLastName, c.secondLastName, c.email, c.address, c.phone, c.country, "
+            + "c.demonym) from CustomerEntity c";
+
+    @Param({"entity", "projection", "jdbc"})
+    public String read;
+
+    @Param("100")
+    public int size;
+
+    private SessionFactory sessionFactory;
+    private int page;
+
+    @Setup(Level.Trial)
+    public void createTable() {
+        // Outside Quarkus every logger is at ALL, and Hibernate's trace logging of each extracted value would
+        // dominate the allocations
+        Logger.getLogger("org.hibernate").setLevel(java.util.logging.Level.WARNING);
+
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(CustomerEntity.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:page-read;MODE=PostgreSQL;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .buildSessionFactory();
+
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.getTransaction().begin();
+            for (long id = 1; id <= ROWS; id++) {
+                CustomerEntity entity = CustomerMapper.toEntity(Customers.customer(id));
+                entity.setId(null);
+                session.insert(entity);
+            }
+            session.getTransaction().commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void dropTable() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<Customer> readPage() {
+        // Walks the table a keyset page at a time, so the cost of skipping rows with OFFSET is not measured
+        long afterId = (long) (page++ % (ROWS / size)) * size;
+        try (Session session = sessionFactory.openSession()) {
+            if (read.equals("entity")) {
+                return session.createQuery("from CustomerEntity c where c.id > :afterId order by c.id", CustomerEntity.class)
+                        .setParameter("afterId", afterId)
+                        .setMaxResults(size)
+                        .getResultList().stream()
+                        .map(CustomerMapper::toDomain)
+                        .toList();
+            }
+            if (read.equals("jdbc")) {
+                return session.doReturningWork(connection -> readPage(connection, afterId));
+            }
+            return session.createQuery(SELECT_CUSTOMERS + " where c.id > :afterId order by c.id", Customer.class)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .setParameter("afterId", afterId)
+                    .setMaxResults(size)
+                    .getResultList();
+        }
+    }
+
+    private List<Customer> readPage(Connection connection, long afterId) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT id, first_name, second_name, first_last_name, "
+                + "second_last_name, email, address, phone, country, demonym FROM customers WHERE id > ? ORDER BY id "
+                + "FETCH FIRST ? ROWS ONLY")) {
+            select.setLong(1, afterId);
+            select.setInt(2, size);
+            List<Customer> customers = new ArrayList<>(size);
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    customers.add(new Customer(rows.getLong(1), rows.getString(2), rows.getString(3), rows.getString(4),
+                            rows.getString(5), rows.getString(6), rows.getString(7), rows.getString(8),
+                            rows.getString(9), rows.getString(10)));
+                }
+            }
+            return customers;
+        }
+    }
+}
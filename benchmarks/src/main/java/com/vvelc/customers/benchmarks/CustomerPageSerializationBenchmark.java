@@ -0,0 +1,47 @@
+package com.vvelc.customers.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelc.customers.application.model.TotalMode;
+import com.vvelc.customers.interface_.rest.dto.CustomerPageResponse;
+import com.vvelc.customers.interface_.rest.mapper.CustomerDtoMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of a {@code GET /customers} page, as written by the REST layer.
+ * Run with {@code -prof gc} to compare allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerPageSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private CustomerPageResponse page;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        page = new CustomerPageResponse(
+                Customers.customers(pageSize).stream().map(CustomerDtoMapper::toDto).toList(),
+                0,
+                pageSize,
+                10_000L,
+                TotalMode.EXACT,
+                null
+        );
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
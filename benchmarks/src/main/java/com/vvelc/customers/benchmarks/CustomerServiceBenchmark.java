@@ -0,0 +1,103 @@
+package com.vvelc.customers.benchmarks;
+
+import com.vvelc.customers.application.model.CountryInfo;
+import com.vvelc.customers.application.model.PageRequest;
+import com.vvelc.customers.application.model.PageResponse;
+import com.vvelc.customers.application.model.PageTotal;
+import com.vvelc.customers.application.model.TotalMode;
+import com.vvelc.customers.application.port.outbound.CountryValidationPort;
+import com.vvelc.customers.application.service.CustomerService;
+import com.vvelc.customers.application.service.CustomerWriter;
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link CustomerService} against in-memory ports that answer immediately: the overhead the service adds on top
+ * of the database and the country API. {@code updateCustomer} includes submitting the country lookup to a virtual
+ * thread executor while the customer is read (the port reports no country as resolvable locally, like a cache miss).
+ * <p>
+ * The service is called directly, without CDI, so the Micrometer and transaction interceptors are not included.
+ * The service classes come from the installed API jar and log through a static JBoss Logging logger, as in the
+ * application; the info logs are disabled, so only their level check is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.jboss.logging.provider=jdk")
+public class CustomerServiceBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private CustomerService service;
+    private ExecutorService countryLookupExecutor;
+    private PageRequest pageRequest;
+
+    @Setup
+    public void setup() {
+        Logger.getLogger("com.vvelc").setLevel(Level.WARNING);
+
+        CustomerRepository repository = new StubCustomerRepository(Customers.customers(PAGE_SIZE));
+        CountryInfo unitedStates = new CountryInfo("US", "United States", "American");
+        countryLookupExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        service = new CustomerService(
+                repository,
+                new CountryValidationPort() {
+                    @Override
+                    public CountryInfo findByIsoCode(String isoCode) {
+                        return unitedStates;
+                    }
+
+                    @Override
+                    public boolean resolvesLocally(String isoCode) {
+                        return false;
+                    }
+                },
+                new CustomerWriter(repository),
+                (country, mode) -> new PageTotal((long) PAGE_SIZE, TotalMode.EXACT),
+                countryLookupExecutor
+        );
+        pageRequest = new PageRequest(0, PAGE_SIZE, TotalMode.EXACT);
+    }
+
+    @TearDown
+    public void tearDown() {
+        countryLookupExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public Customer createCustomer() {
+        return service.createCustomer(newCustomer());
+    }
+
+    @Benchmark
+    public Customer getCustomerById() {
+        return service.getCustomerById(1L);
+    }
+
+    @Benchmark
+    public PageResponse<Customer> getAllCustomers() {
+        return service.getAllCustomers(pageRequest);
+    }
+
+    @Benchmark
+    public Customer updateCustomer() {
+        return service.updateCustomer(1L, new Customer(
+                null, null, null, null, null, null, "456 Second Avenue", null, "US", null
+        ));
+    }
+
+    private static Customer newCustomer() {
+        return new Customer(
+                null, "Jane", null, "Doe", null, "jane.doe@mail.com", "123 Main Street", "8091231234", "US", null
+        );
+    }
+}
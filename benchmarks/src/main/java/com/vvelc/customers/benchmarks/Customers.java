@@ -0,0 +1,26 @@
+package com.vvelc.customers.benchmarks;
+
+import com.vvelc.customers.domain.model.Customer;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Customers with realistic field lengths shared by the benchmarks.
+ */
+final class Customers {
+
+    private Customers() {
+    }
+
+    static Customer customer(long id) {
+        return new Customer(
+                id, "John", "Michael", "Doe", "Smith",
+                "john.doe" + id + "@mail.com", "123 Main Street, Apt 4B", "8091231234", "US", "American"
+        );
+    }
+
+    static List<Customer> customers(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(Customers::customer).toList();
+    }
+}
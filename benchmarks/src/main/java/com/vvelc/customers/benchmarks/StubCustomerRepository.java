@@ -0,0 +1,120 @@
+package com.vvelc.customers.benchmarks;
+
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Repository answering from a fixed list of customers, so that {@link CustomerServiceBenchmark} measures the
+ * service itself and not the database.
+ */
+class StubCustomerRepository implements CustomerRepository {
+
+    private final List<Customer> customers;
+
+    StubCustomerRepository(List<Customer> customers) {
+        this.customers = customers;
+    }
+
+    @Override
+    public Customer save(Customer customer) {
+        customer.setId(1L);
+        return customer;
+    }
+
+    @Override
+    public List<Customer> saveAll(List<Customer> customers) {
+        return customers;
+    }
+
+    @Override
+    public List<Customer> findAll(int page, int size) {
+        return customers.subList(0, Math.min(size, customers.size()));
+    }
+
+    @Override
+    public List<Customer> findByCountry(String country, int page, int size) {
+        return findAll(page, size);
+    }
+
+    @Override
+    public List<Customer> findAllAfter(Long afterId, int limit) {
+        return findAll(0, limit);
+    }
+
+    @Override
+    public List<Customer> findByCountryAfter(String country, Long afterId, int limit) {
+        return findAll(0, limit);
+    }
+
+    @Override
+    public Stream<Customer> streamAll(String country) {
+        return customers.stream();
+    }
+
+    @Override
+    public List<Customer> search(String query, int limit) {
+        return findAll(0, limit);
+    }
+
+    @Override
+    public Stream<String> streamEmails() {
+        return customers.stream().map(Customer::getEmail);
+    }
+
+    @Override
+    public Optional<Customer> findById(Long id) {
+        return Optional.of(Customers.customer(id));
+    }
+
+    @Override
+    public List<Customer> findAllByIds(Collection<Long> ids) {
+        return ids.stream().map(Customers::customer).toList();
+    }
+
+    @Override
+    public Optional<Customer> update(Customer customer) {
+        return Optional.of(customer);
+    }
+
+    @Override
+    public Long count() {
+        return (long) customers.size();
+    }
+
+    @Override
+    public Long countByCountry(String country) {
+        return count();
+    }
+
+    @Override
+    public Map<String, Long> countPerCountry() {
+        return Map.of("US", count());
+    }
+
+    @Override
+    public Optional<Long> estimateCount() {
+        return Optional.of(count());
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return false;
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return Set.of();
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return true;
+    }
+}
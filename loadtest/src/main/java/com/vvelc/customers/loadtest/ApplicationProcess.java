@@ -0,0 +1,87 @@
+package com.vvelc.customers.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The API under test, booted from its packaged jar and pointed at the country API stub. Its output goes to
+ * {@code app.log} in the report directory.
+ * <p>
+ * The settings of a run are passed as system properties rather than kept in a profile of the API, so the jar that
+ * ships never carries a configuration that wipes the schema: every run starts from an empty schema, and country
+ * lookups go to the stub, through the cache, instead of being answered by the bundled catalog.
+ */
+class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Process process;
+
+    private ApplicationProcess(Process process) {
+        this.process = process;
+    }
+
+    static ApplicationProcess start(LoadTestConfig config, Path log) throws IOException, InterruptedException {
+        if (!Files.exists(config.appJar())) {
+            throw new IllegalStateException("API jar not found: " + config.appJar() + " (run ./mvnw package -DskipTests)");
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(config.appJvmArgs());
+        command.add("-Dquarkus.flyway.clean-disabled=false");
+        command.add("-Dquarkus.flyway.clean-at-start=true");
+        command.add("-Dcustomers.country.catalog.enabled=false");
+        command.add("-Dquarkus.http.port=" + config.appPort());
+        command.add("-Dquarkus.rest-client.country-api.url=http://localhost:" + config.stubPort());
+        command.add("-jar");
+        command.add(config.appJar().toString());
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        ApplicationProcess application = new ApplicationProcess(process);
+        try {
+            application.awaitReady(config.apiUrl().resolve("/q/health/ready"));
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            application.close();
+            throw e;
+        }
+        return application;
+    }
+
+    private void awaitReady(URI readiness) throws InterruptedException, IOException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(readiness).timeout(Duration.ofSeconds(2)).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("API exited during startup with status " + process.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) return;
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IOException("API not ready after " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) process.destroyForcibly().waitFor();
+    }
+}
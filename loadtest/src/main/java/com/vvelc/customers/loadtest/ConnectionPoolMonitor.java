@@ -0,0 +1,116 @@
+package com.vvelc.customers.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Time requests spent waiting for a JDBC connection during the measured window, read from the Agroal metrics of
+ * the API ({@code /q/metrics}, Prometheus format).
+ * <p>
+ * The acquisition and blocking-time counters are read when the warm-up ends and when the run ends, so their
+ * difference covers only the measured requests; the number of threads waiting for a connection is sampled in
+ * between. If the API exposes no metrics (e.g. a {@code base-url} without Micrometer) the run goes on without them.
+ */
+class ConnectionPoolMonitor {
+
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(250);
+    private static final String DATASOURCE = "{datasource=\"default\"}";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final HttpRequest request;
+
+    private volatile boolean running = true;
+    private Map<String, Double> first;
+    private double peakAwaiting;
+    private Thread sampler;
+
+    ConnectionPoolMonitor(URI apiUrl) {
+        this.request = HttpRequest.newBuilder(apiUrl.resolve("/q/metrics")).timeout(Duration.ofSeconds(5)).build();
+    }
+
+    /**
+     * Takes the first reading at {@code measureFrom} ({@link System#nanoTime()}) and samples until {@link #stop()}.
+     */
+    void start(long measureFrom) {
+        sampler = Thread.ofVirtual().name("pool-monitor").start(() -> {
+            LockSupport.parkNanos(measureFrom - System.nanoTime());
+            first = scrape();
+            while (running && first != null) {
+                Map<String, Double> sample = scrape();
+                if (sample != null) {
+                    peakAwaiting = Math.max(peakAwaiting, sample.getOrDefault("agroal_awaiting_count", 0.0));
+                }
+                LockSupport.parkNanos(SAMPLE_INTERVAL.toNanos());
+            }
+        });
+    }
+
+    /**
+     * @return the pool usage of the measured window, or {@code null} if the metrics could not be read
+     */
+    Usage stop() throws InterruptedException {
+        running = false;
+        sampler.join();
+        Map<String, Double> last = scrape();
+        if (first == null || last == null) return null;
+
+        long acquisitions = Math.round(delta(last, "agroal_acquire_count_total"));
+        double blockedMillis = delta(last, "agroal_blocking_time_total_milliseconds");
+        return new Usage(
+                acquisitions,
+                blockedMillis,
+                acquisitions == 0 ? 0 : blockedMillis / acquisitions,
+                last.getOrDefault("agroal_blocking_time_max_milliseconds", 0.0),
+                (long) peakAwaiting,
+                Math.round(last.getOrDefault("agroal_max_used_count", 0.0)));
+    }
+
+    private double delta(Map<String, Double> last, String metric) {
+        return last.getOrDefault(metric, 0.0) - first.getOrDefault(metric, 0.0);
+    }
+
+    private Map<String, Double> scrape() {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) return null;
+            Map<String, Double> values = new HashMap<>();
+            response.body().lines()
+                    .filter(line -> line.startsWith("agroal_") && line.contains(DATASOURCE))
+                    .forEach(line -> values.put(
+                            line.substring(0, line.indexOf('{')),
+                            Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1))));
+            return values.isEmpty() ? null : values;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * @param acquisitions       connections handed out during the measured window
+     * @param waitMillis         total time spent waiting for them
+     * @param averageWaitMillis  {@code waitMillis / acquisitions}
+     * @param maxWaitMillis      longest single wait since the API started (Agroal keeps no windowed maximum)
+     * @param peakAwaiting       most threads seen waiting for a connection at once
+     * @param maxUsed            most connections in use at once since the API started
+     */
+    record Usage(long acquisitions, double waitMillis, double averageWaitMillis, double maxWaitMillis,
+                 long peakAwaiting, long maxUsed) {
+
+        void print(PrintStream out) {
+            out.printf("Connection pool: %d acquisitions, %.0f ms waiting (%.3f ms on average, max %.0f ms), "
+                            + "up to %d threads waiting, up to %d connections in use%n",
+                    acquisitions, waitMillis, averageWaitMillis, maxWaitMillis, peakAwaiting, maxUsed);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.vvelc.customers.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for restcountries.com. {@code /v3.1/alpha/{code}} answers every code of {@link #COUNTRIES}
+ * with the fields the API reads ({@code name.common} and {@code demonyms.eng.m}) and 404 for any other, after
+ * the configured latency, so runs do not depend on the real API and its latency can be varied.
+ */
+class CountryApiStub implements AutoCloseable {
+
+    static final Set<String> COUNTRIES = Set.of(
+            "US", "CA", "MX", "BR", "AR", "CO", "CL", "PE", "DO", "ES",
+            "FR", "DE", "IT", "PT", "GB", "NL", "SE", "JP", "KR", "AU"
+    );
+
+    private static final String ALPHA_PATH = "/v3.1/alpha/";
+
+    private final HttpServer server;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final AtomicLong requests = new AtomicLong();
+
+    CountryApiStub(int port, Duration latency, Duration jitter) throws IOException {
+        this.latencyMillis = latency.toMillis();
+        this.jitterMillis = jitter.toMillis();
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/v3.1/alpha/", this::country);
+        server.createContext("/v3.1/all", exchange -> respond(exchange, 200, "[]"));
+    }
+
+    void start() {
+        server.start();
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    private void country(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        delay();
+
+        String code = exchange.getRequestURI().getPath().substring(ALPHA_PATH.length());
+        if (!COUNTRIES.contains(code)) {
+            respond(exchange, 404, "{\"status\":404,\"message\":\"Not Found\"}");
+            return;
+        }
+        respond(exchange, 200, """
+                [{"cca2":"%1$s","name":{"common":"Country %1$s"},"demonyms":{"eng":{"f":"%1$s","m":"%1$s"}}}]"""
+                .formatted(code));
+    }
+
+    private void delay() {
+        long millis = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        if (millis == 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,135 @@
+package com.vvelc.customers.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Response times of the measured requests, one HDR histogram per operation plus one for all of them.
+ * Times are recorded in microseconds from the moment a request was scheduled to start, not from when it was
+ * sent, so a client or server that falls behind the arrival rate shows up as latency (no coordinated omission).
+ */
+class LatencyReport {
+
+    static final String ALL = "all";
+    static final double[] PERCENTILES = {50, 95, 99, 99.9};
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+
+    LatencyReport(Iterable<Operation> operations) {
+        track(ALL);
+        for (Operation operation : operations) track(operation.key);
+    }
+
+    private void track(String name) {
+        histograms.put(name, new ConcurrentHistogram(MAX_MICROS, 3));
+        errors.put(name, new AtomicLong());
+    }
+
+    void record(Operation operation, long micros, boolean ok) {
+        long value = Math.min(Math.max(micros, 0), MAX_MICROS);
+        histograms.get(operation.key).recordValue(value);
+        histograms.get(ALL).recordValue(value);
+        if (!ok) {
+            errors.get(operation.key).incrementAndGet();
+            errors.get(ALL).incrementAndGet();
+        }
+    }
+
+    Map<String, Histogram> histograms() {
+        return histograms;
+    }
+
+    long count(String name) {
+        return histograms.get(name).getTotalCount();
+    }
+
+    double errorRate(String name) {
+        long count = count(name);
+        return count == 0 ? 0 : (double) errors.get(name).get() / count;
+    }
+
+    /**
+     * @return the given percentile in milliseconds
+     */
+    double percentileMillis(String name, double percentile) {
+        return histograms.get(name).getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    void print(PrintStream out, Duration measured) {
+        out.printf("%-14s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (String name : histograms.keySet()) {
+            Histogram histogram = histograms.get(name);
+            if (histogram.getTotalCount() == 0) continue;
+            out.printf("%-14s %9d %9.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    name,
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / (measured.toMillis() / 1000.0),
+                    errors.get(name).get(),
+                    percentileMillis(name, 50),
+                    percentileMillis(name, 95),
+                    percentileMillis(name, 99),
+                    percentileMillis(name, 99.9),
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+
+    /**
+     * Writes {@code summary.json} and one {@code <operation>.hgrm} percentile distribution (in milliseconds) per
+     * operation, which can be plotted with the HdrHistogram plotter. {@code pool} is {@code null} if the API
+     * exposed no connection pool metrics.
+     */
+    void write(Path directory, LoadTestConfig config, Duration measured, ConnectionPoolMonitor.Usage pool)
+            throws IOException {
+        Files.createDirectories(directory);
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (String name : histograms.keySet()) {
+            Histogram histogram = histograms.get(name);
+            if (histogram.getTotalCount() == 0) continue;
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", histogram.getTotalCount());
+            summary.put("throughput", histogram.getTotalCount() / (measured.toMillis() / 1000.0));
+            summary.put("errors", errors.get(name).get());
+            for (double percentile : PERCENTILES) {
+                summary.put("p" + format(percentile) + "Millis", percentileMillis(name, percentile));
+            }
+            summary.put("maxMillis", histogram.getMaxValue() / 1000.0);
+            operations.put(name, summary);
+
+            try (PrintStream out = new PrintStream(directory.resolve(name + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rate", config.rate());
+        report.put("durationSeconds", measured.toSeconds());
+        report.put("stubLatencyMillis", config.stubLatency().toMillis());
+        report.put("stubJitterMillis", config.stubJitter().toMillis());
+        report.put("operations", operations);
+        report.put("connectionPool", pool);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("summary.json").toFile(), report);
+    }
+
+    static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+}
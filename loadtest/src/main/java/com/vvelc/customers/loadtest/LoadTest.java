@@ -0,0 +1,106 @@
+package com.vvelc.customers.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a mixed workload against the API at a fixed arrival rate (open model) and checks the SLOs.
+ * <p>
+ * Requests start every {@code 1/rate} seconds whether or not earlier ones have finished, each on its own
+ * virtual thread, so a slow API builds up concurrency instead of slowing the load down. The requests of the
+ * warm-up are sent but not recorded. The wait for a database connection during the measured window is reported
+ * alongside the latencies ({@link ConnectionPoolMonitor}). Exits with status 1 if an SLO was breached.
+ * <p>
+ * Usage, from the repository root: {@code java -jar loadtest/target/loadtest.jar [key=value...]}
+ * (options in {@link LoadTestConfig}).
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        SloThresholds slo = SloThresholds.load(config.slo());
+        Path out = config.out().resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(out);
+
+        LatencyReport report;
+        ConnectionPoolMonitor.Usage pool;
+        try (CountryApiStub stub = new CountryApiStub(config.stubPort(), config.stubLatency(), config.stubJitter())) {
+            stub.start();
+
+            ApplicationProcess application = config.baseUrl() == null
+                    ? ApplicationProcess.start(config, out.resolve("app.log"))
+                    : null;
+            try {
+                Workload workload = new Workload(config.apiUrl(), config.timeout(), config.mix());
+                System.out.printf("Seeding %d customers%n", config.seed());
+                workload.seed(config.seed());
+
+                System.out.printf("Running %d req/s for %s (+%s warm-up), country API latency %s (+0-%s)%n",
+                        config.rate(), config.duration(), config.warmup(), config.stubLatency(), config.stubJitter());
+                ConnectionPoolMonitor monitor = new ConnectionPoolMonitor(config.apiUrl());
+                report = run(workload, monitor, config);
+                pool = monitor.stop();
+                System.out.printf("Country API stub received %d requests%n", stub.requests());
+            } finally {
+                if (application != null) application.close();
+            }
+        }
+
+        report.print(System.out, config.duration());
+        if (pool != null) pool.print(System.out);
+        report.write(out, config, config.duration(), pool);
+        System.out.println("Reports written to " + out);
+
+        if (slo.isEmpty()) {
+            System.out.println("No SLO thresholds in " + config.slo());
+            return;
+        }
+        List<String> breaches = slo.breaches(report);
+        if (!breaches.isEmpty()) {
+            System.out.println("SLO breached:");
+            breaches.forEach(breach -> System.out.println("  " + breach));
+            System.exit(1);
+        }
+        System.out.println("All SLOs met");
+    }
+
+    private static LatencyReport run(Workload workload, ConnectionPoolMonitor monitor, LoadTestConfig config)
+            throws InterruptedException {
+        LatencyReport report = new LatencyReport(config.mix().keySet());
+        long interval = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        monitor.start(measureFrom);
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long intendedStart = start; intendedStart < end; intendedStart += interval) {
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+
+                Operation operation = workload.next();
+                boolean measured = intendedStart >= measureFrom;
+                long scheduled = intendedStart;
+                requests.submit(() -> {
+                    boolean ok;
+                    try {
+                        ok = workload.execute(operation);
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    if (measured) {
+                        report.record(operation, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled), ok);
+                    }
+                });
+            }
+        }
+        return report;
+    }
+}
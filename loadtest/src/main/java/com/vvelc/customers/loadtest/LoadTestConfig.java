@@ -0,0 +1,99 @@
+package com.vvelc.customers.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options of a run, given as {@code key=value} arguments. Every option has a default, so
+ * {@code java -jar loadtest/target/loadtest.jar} from the repository root runs the standard workload.
+ *
+ * @param rate       requests started per second, whether or not earlier ones have finished
+ * @param warmup     time at the start of the run whose requests are not recorded
+ * @param duration   measured time after the warm-up
+ * @param seed       customers created before the run, so reads and updates have data from the first request
+ * @param mix        relative weight of every operation
+ * @param slo        thresholds file; no SLO is checked if it does not exist
+ * @param baseUrl    URL of an already running API; {@code null} to boot {@code appJar}
+ * @param appJar     API to boot
+ * @param appPort    HTTP port of the booted API
+ * @param appJvmArgs extra JVM arguments of the booted API, e.g. {@code -Dcustomers.country.cache.ttl=0s}
+ * @param stubPort   port of the country API stub
+ * @param stubLatency latency added to every country API response
+ * @param stubJitter upper bound of a random delay added on top of {@code stubLatency}
+ * @param timeout    request timeout; a timed-out request counts as an error
+ * @param out        directory of the reports
+ */
+record LoadTestConfig(
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int seed,
+        Map<Operation, Integer> mix,
+        Path slo,
+        URI baseUrl,
+        Path appJar,
+        int appPort,
+        List<String> appJvmArgs,
+        int stubPort,
+        Duration stubLatency,
+        Duration stubJitter,
+        Duration timeout,
+        Path out
+) {
+
+    static final String DEFAULT_MIX =
+            "create=15,create-batch=2,import=1,get=35,list=10,list-cursor=10,list-country=10,search=5,export=1,stats=5,update=8,delete=3";
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        String baseUrl = options.remove("base-url");
+        String appJvmArgs = options.remove("app.jvm-args");
+        LoadTestConfig config = new LoadTestConfig(
+                Integer.parseInt(options.getOrDefault("rate", "100")),
+                duration(options.getOrDefault("warmup", "10s")),
+                duration(options.getOrDefault("duration", "60s")),
+                Integer.parseInt(options.getOrDefault("seed", "1000")),
+                Operation.parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                Path.of(options.getOrDefault("slo", "loadtest/slo.properties")),
+                baseUrl == null ? null : URI.create(baseUrl),
+                Path.of(options.getOrDefault("app.jar", "target/quarkus-app/quarkus-run.jar")),
+                Integer.parseInt(options.getOrDefault("app.port", "8081")),
+                appJvmArgs == null || appJvmArgs.isBlank() ? List.of() : List.of(appJvmArgs.trim().split("\\s+")),
+                Integer.parseInt(options.getOrDefault("stub.port", "8089")),
+                duration(options.getOrDefault("stub.latency", "50ms")),
+                duration(options.getOrDefault("stub.jitter", "0ms")),
+                duration(options.getOrDefault("timeout", "10s")),
+                Path.of(options.getOrDefault("out", "target/loadtest"))
+        );
+
+        options.keySet().removeAll(List.of("rate", "warmup", "duration", "seed", "mix", "slo", "app.jar", "app.port",
+                "stub.port", "stub.latency", "stub.jitter", "timeout", "out"));
+        if (!options.isEmpty()) throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        if (config.rate() <= 0) throw new IllegalArgumentException("rate must be positive");
+        return config;
+    }
+
+    URI apiUrl() {
+        return baseUrl != null ? baseUrl : URI.create("http://localhost:" + appPort);
+    }
+
+    /**
+     * Parses {@code 500ms}, {@code 30s}, {@code 5m} or a number of seconds.
+     */
+    static Duration duration(String value) {
+        if (value.endsWith("ms")) return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        if (value.endsWith("s")) return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        if (value.endsWith("m")) return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+}
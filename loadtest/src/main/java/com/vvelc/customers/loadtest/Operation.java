@@ -0,0 +1,51 @@
+package com.vvelc.customers.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Requests of the workload, one per {@code CustomerController} endpoint (and query mode).
+ */
+enum Operation {
+    CREATE("create"),
+    CREATE_BATCH("create-batch"),
+    IMPORT("import"),
+    GET("get"),
+    LIST("list"),
+    LIST_CURSOR("list-cursor"),
+    LIST_COUNTRY("list-country"),
+    SEARCH("search"),
+    EXPORT("export"),
+    STATS("stats"),
+    UPDATE("update"),
+    DELETE("delete");
+
+    final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    static Operation of(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) return operation;
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+
+    /**
+     * Parses {@code create=15,get=35,...}; operations not listed are not issued.
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) throw new IllegalArgumentException("Expected operation=weight, got: " + entry);
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) throw new IllegalArgumentException("Negative weight: " + entry);
+            if (weight > 0) weights.put(of(parts[0].trim()), weight);
+        }
+        if (weights.isEmpty()) throw new IllegalArgumentException("Empty mix");
+        return weights;
+    }
+}
@@ -0,0 +1,72 @@
+package com.vvelc.customers.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Latency and error-rate thresholds read from a properties file (see {@code loadtest/slo.properties}):
+ * {@code <operation>.<p50|p95|p99|p99.9>=<milliseconds>} and {@code <operation>.error-rate=<fraction>}, where the
+ * operation is a key of the mix or {@code all}.
+ */
+class SloThresholds {
+
+    private static final String ERROR_RATE = "error-rate";
+
+    private final Properties thresholds;
+
+    private SloThresholds(Properties thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    static SloThresholds load(Path file) throws IOException {
+        Properties thresholds = new Properties();
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                thresholds.load(reader);
+            }
+        }
+        return new SloThresholds(thresholds);
+    }
+
+    boolean isEmpty() {
+        return thresholds.isEmpty();
+    }
+
+    /**
+     * @return a description of every breached threshold; empty if the run met all of them
+     */
+    List<String> breaches(LatencyReport report) {
+        List<String> breaches = new ArrayList<>();
+        for (String key : thresholds.stringPropertyNames().stream().sorted().toList()) {
+            int separator = key.indexOf('.');
+            if (separator <= 0) throw new IllegalArgumentException("Invalid SLO key: " + key);
+            String name = key.substring(0, separator);
+            String metric = key.substring(separator + 1);
+            double limit = Double.parseDouble(thresholds.getProperty(key).trim());
+
+            if (!name.equals(LatencyReport.ALL)) Operation.of(name);
+            // Operations left out of the mix have no requests to check
+            if (!report.histograms().containsKey(name) || report.count(name) == 0) continue;
+
+            if (metric.equals(ERROR_RATE)) {
+                double errorRate = report.errorRate(name);
+                if (errorRate > limit) {
+                    breaches.add("%s: %.4f > %.4f".formatted(key, errorRate, limit));
+                }
+            } else if (metric.startsWith("p")) {
+                double value = report.percentileMillis(name, Double.parseDouble(metric.substring(1)));
+                if (value > limit) {
+                    breaches.add("%s: %.2f ms > %.2f ms".formatted(key, value, limit));
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown SLO metric: " + key);
+            }
+        }
+        return breaches;
+    }
+}
@@ -0,0 +1,202 @@
+package com.vvelc.customers.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues the requests of every {@link Operation} against the API. Created customers are kept in a pool from
+ * which reads, updates and deletes pick their targets, so the data set stays close to its seeded size.
+ */
+class Workload {
+
+    private static final String JSON = "application/json";
+    private static final int BATCH_SIZE = 20;
+    private static final int IMPORT_SIZE = 50;
+    private static final int PAGE_SIZE = 20;
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI customers;
+    private final Duration timeout;
+    private final Operation[] weighted;
+    private final List<String> countries = List.copyOf(CountryApiStub.COUNTRIES);
+    private final CustomerIds ids = new CustomerIds();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+
+    Workload(URI apiUrl, Duration timeout, Map<Operation, Integer> mix) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.customers = apiUrl.resolve("/customers");
+        this.timeout = timeout;
+
+        List<Operation> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) operations.add(operation);
+        });
+        this.weighted = operations.toArray(Operation[]::new);
+    }
+
+    Operation next() {
+        return weighted[ThreadLocalRandom.current().nextInt(weighted.length)];
+    }
+
+    /**
+     * Creates {@code count} customers through the batch endpoint before the run.
+     */
+    void seed(int count) throws IOException, InterruptedException {
+        for (int created = 0; created < count; created += 500) {
+            HttpResponse<byte[]> response = send(post("/batch", JSON, customersJson(Math.min(500, count - created))));
+            if (response.statusCode() != 200) {
+                throw new IOException("Seeding failed with status " + response.statusCode());
+            }
+            addBatchIds(response.body());
+        }
+    }
+
+    /**
+     * @return {@code true} if the API answered with the status expected for the operation
+     */
+    boolean execute(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case CREATE -> {
+                HttpResponse<byte[]> response = send(post("", JSON, customerJson()));
+                if (response.statusCode() != 201) yield false;
+                ids.add(objectMapper.readTree(response.body()).get("id").asLong());
+                yield true;
+            }
+            case CREATE_BATCH -> {
+                HttpResponse<byte[]> response = send(post("/batch", JSON, customersJson(BATCH_SIZE)));
+                if (response.statusCode() != 200) yield false;
+                addBatchIds(response.body());
+                yield true;
+            }
+            case IMPORT -> {
+                StringBuilder ndjson = new StringBuilder();
+                for (int i = 0; i < IMPORT_SIZE; i++) ndjson.append(customerJson()).append('\n');
+                yield discard(post("/import", "application/x-ndjson", ndjson.toString())) == 200;
+            }
+            case GET -> expectExisting(discard(get("/" + ids.random())), 200);
+            case LIST -> discard(get("?page=" + ThreadLocalRandom.current().nextInt(5) + "&size=" + PAGE_SIZE)) == 200;
+            case LIST_CURSOR -> discard(get("?pagination=cursor&size=" + PAGE_SIZE)) == 200;
+            case LIST_COUNTRY -> discard(get("?country=" + country() + "&size=" + PAGE_SIZE)) == 200;
+            case SEARCH -> discard(get("/search?q=" + emailFragment())) == 200;
+            case EXPORT -> discard(get("/export?format=ndjson&country=" + country())) == 200;
+            case STATS -> discard(get("/stats/countries")) == 200;
+            case UPDATE -> expectExisting(discard(request("/" + ids.random())
+                    .header("Content-Type", JSON)
+                    .PUT(HttpRequest.BodyPublishers.ofString("""
+                            {"address":"%d Updated Street","country":"%s"}""".formatted(sequence.incrementAndGet(), country())))
+                    .build()), 200);
+            case DELETE -> {
+                Long id = ids.take();
+                yield id == null || expectExisting(discard(request("/" + id).DELETE().build()), 204);
+            }
+        };
+    }
+
+    /**
+     * A customer deleted by a concurrent request answers 404; that is the workload racing itself, not an error.
+     */
+    private static boolean expectExisting(int status, int expected) {
+        return status == expected || status == 404;
+    }
+
+    private void addBatchIds(byte[] body) throws IOException {
+        for (JsonNode item : objectMapper.readTree(body).get("items")) {
+            JsonNode customer = item.get("customer");
+            if (customer != null && !customer.isNull()) ids.add(customer.get("id").asLong());
+        }
+    }
+
+    private String customersJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) json.append(',');
+            json.append(customerJson());
+        }
+        return json.append(']').toString();
+    }
+
+    private String customerJson() {
+        long n = sequence.incrementAndGet();
+        return """
+                {"firstName":"Load","firstLastName":"Test","email":"lt-%s-%d@load.test","address":"%d Main Street",\
+                "phone":"8091231234","country":"%s"}""".formatted(runId, n, n, country());
+    }
+
+    /**
+     * Part of the email of one customer created by the run, e.g. {@code -1234@}: a selective search.
+     */
+    private String emailFragment() {
+        return "-" + (1 + ThreadLocalRandom.current().nextLong(Math.max(1, sequence.get()))) + "@";
+    }
+
+    private String country() {
+        return countries.get(ThreadLocalRandom.current().nextInt(countries.size()));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(customers + path)).timeout(timeout);
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String contentType, String body) {
+        return request(path)
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private int discard(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * IDs of the customers created by the run; random access and removal in constant time.
+     */
+    private static final class CustomerIds {
+        private final List<Long> ids = new ArrayList<>();
+
+        synchronized void add(long id) {
+            ids.add(id);
+        }
+
+        synchronized Long random() {
+            return ids.isEmpty() ? 0L : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+        synchronized Long take() {
+            if (ids.isEmpty()) return null;
+            int index = ThreadLocalRandom.current().nextInt(ids.size());
+            Long id = ids.get(index);
+            ids.set(index, ids.getLast());
+            ids.removeLast();
+            return id;
+        }
+    }
+}
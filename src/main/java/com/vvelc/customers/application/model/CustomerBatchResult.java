@@ -0,0 +1,30 @@
+package com.vvelc.customers.application.model;
+
+import com.vvelc.customers.domain.model.Customer;
+
+/**
+ * Resultado de un elemento de una creación en lote: el cliente creado, o el motivo por el que no se creó.
+ */
+public record CustomerBatchResult(
+        Status status,
+        Customer customer,
+        String error
+) {
+    public enum Status {
+        CREATED,
+        CONFLICT,
+        INVALID
+    }
+
+    public static CustomerBatchResult created(Customer customer) {
+        return new CustomerBatchResult(Status.CREATED, customer, null);
+    }
+
+    public static CustomerBatchResult conflict(String error) {
+        return new CustomerBatchResult(Status.CONFLICT, null, error);
+    }
+
+    public static CustomerBatchResult invalid(String error) {
+        return new CustomerBatchResult(Status.INVALID, null, error);
+    }
+}
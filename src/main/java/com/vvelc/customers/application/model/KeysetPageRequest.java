@@ -0,0 +1,11 @@
+package com.vvelc.customers.application.model;
+
+/**
+ * Página por cursor (keyset): los {@code size} clientes con ID mayor que {@code afterId}.
+ * {@code afterId} es {@code null} para la primera página.
+ */
+public record KeysetPageRequest(
+        Long afterId,
+        int size
+) {
+}
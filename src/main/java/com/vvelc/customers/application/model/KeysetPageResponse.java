@@ -0,0 +1,22 @@
+package com.vvelc.customers.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Resultado de una página por cursor. {@code nextAfterId} es el ID del último elemento de la página,
+ * o {@code null} si no quedan más elementos.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@RequiredArgsConstructor
+public class KeysetPageResponse<T> {
+    private List<T> items;
+    private int size;
+    private Long nextAfterId;
+}
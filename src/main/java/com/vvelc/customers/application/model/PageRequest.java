@@ -2,9 +2,10 @@ package com.vvelc.customers.application.model;
 
 public record PageRequest(
         int page,
-        int size
+        int size,
+        TotalMode totalMode
 ) {
-    public int offset() {
-        return page * size;
+    public PageRequest(int page, int size) {
+        this(page, size, null);
     }
 }
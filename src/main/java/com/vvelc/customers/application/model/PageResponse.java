@@ -16,4 +16,5 @@ public class PageResponse<T> {
     private int page;
     private int size;
     private Long total;
+    private TotalMode totalMode;
 }
@@ -0,0 +1,14 @@
+package com.vvelc.customers.application.model;
+
+/**
+ * Total de una página y el modo con el que se obtuvo, que puede diferir del pedido
+ * si la base de datos no permite estimarlo. {@code total} es {@code null} con {@link TotalMode#NONE}.
+ */
+public record PageTotal(
+        Long total,
+        TotalMode mode
+) {
+    public static PageTotal none() {
+        return new PageTotal(null, TotalMode.NONE);
+    }
+}
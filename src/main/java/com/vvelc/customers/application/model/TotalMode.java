@@ -0,0 +1,30 @@
+package com.vvelc.customers.application.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * Cómo se calcula el total de una página de clientes.
+ * <ul>
+ *     <li>{@code EXACT}: leído en cada petición de los contadores por país, sin recorrer la tabla de clientes.</li>
+ *     <li>{@code ESTIMATED}: estimación de las estadísticas de la base de datos, sin recorrer la tabla.</li>
+ *     <li>{@code CACHED}: total exacto reutilizado durante unos segundos.</li>
+ *     <li>{@code NONE}: no se calcula el total.</li>
+ * </ul>
+ */
+public enum TotalMode {
+    EXACT,
+    ESTIMATED,
+    CACHED,
+    NONE;
+
+    public static TotalMode from(String value) {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+    }
+
+    @JsonValue
+    public String value() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -6,4 +6,9 @@ import com.vvelc.customers.domain.exception.CountryServiceException;
 
 public interface CountryValidationPort {
     CountryInfo findByIsoCode(String isoCode) throws CountryNotFoundException, CountryServiceException;
+
+    /**
+     * @return {@code true} si {@link #findByIsoCode} respondería sin llamar a la API externa (catálogo o caché)
+     */
+    boolean resolvesLocally(String isoCode);
 }
@@ -0,0 +1,12 @@
+package com.vvelc.customers.application.port.outbound;
+
+import com.vvelc.customers.application.model.PageTotal;
+import com.vvelc.customers.application.model.TotalMode;
+
+public interface CustomerCountPort {
+    /**
+     * @param country código de país, o {@code null} para contar todos los clientes
+     * @param mode    modo pedido, o {@code null} para usar el configurado por defecto
+     */
+    PageTotal count(String country, TotalMode mode);
+}
@@ -0,0 +1,13 @@
+package com.vvelc.customers.application.port.outbound;
+
+import com.vvelc.customers.domain.model.Customer;
+import io.smallrye.mutiny.Uni;
+
+import java.util.Optional;
+
+/**
+ * Lectura de clientes sin bloquear el hilo que la pide, para los endpoints que corren en el event loop.
+ */
+public interface ReactiveCustomerReadPort {
+    Uni<Optional<Customer>> findById(Long id);
+}
@@ -1,9 +1,14 @@
 package com.vvelc.customers.application.service;
 
 import com.vvelc.customers.application.model.CountryInfo;
+import com.vvelc.customers.application.model.CustomerBatchResult;
+import com.vvelc.customers.application.model.KeysetPageRequest;
+import com.vvelc.customers.application.model.KeysetPageResponse;
 import com.vvelc.customers.application.model.PageRequest;
 import com.vvelc.customers.application.model.PageResponse;
+import com.vvelc.customers.application.model.PageTotal;
 import com.vvelc.customers.application.port.outbound.CountryValidationPort;
+import com.vvelc.customers.application.port.outbound.CustomerCountPort;
 import com.vvelc.customers.domain.exception.CountryNotFoundException;
 import com.vvelc.customers.domain.exception.CountryServiceException;
 import com.vvelc.customers.domain.exception.CustomerAlreadyExistsException;
@@ -12,30 +17,64 @@ import com.vvelc.customers.domain.model.Customer;
 import com.vvelc.customers.domain.repository.CustomerRepository;
 import io.micrometer.core.annotation.Counted;
 import io.micrometer.core.annotation.Timed;
-import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
+import io.quarkus.virtual.threads.VirtualThreads;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
-
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Servicio que orquesta la lógica de negocio para la gestión de Clientes.
  * Encapsula llamadas a repositorio y validación externa de país.
  */
 @ApplicationScoped
-@RequiredArgsConstructor
 public class CustomerService {
 
+    // Logger estático y no io.quarkus.logging.Log, que solo funciona en clases reescritas por el build de Quarkus:
+    // el módulo benchmarks ejecuta los servicios desde el jar de la API tal cual
+    private static final Logger LOG = Logger.getLogger(CustomerService.class);
+
     private final CustomerRepository customerRepository;
     private final CountryValidationPort countryValidationPort;
-
-    private boolean isEmailAlreadyRegistered(String email) {
-        return customerRepository.existsByEmail(email);
+    private final CustomerWriter customerWriter;
+    private final CustomerCountPort customerCountPort;
+    private final ExecutorService countryLookupExecutor;
+
+    public CustomerService(CustomerRepository customerRepository,
+                           CountryValidationPort countryValidationPort,
+                           CustomerWriter customerWriter,
+                           CustomerCountPort customerCountPort,
+                           @VirtualThreads ExecutorService countryLookupExecutor) {
+        this.customerRepository = customerRepository;
+        this.countryValidationPort = countryValidationPort;
+        this.customerWriter = customerWriter;
+        this.customerCountPort = customerCountPort;
+        this.countryLookupExecutor = countryLookupExecutor;
     }
 
     /**
      * Crea un nuevo cliente.
+     * La validación del país se hace antes de abrir la transacción, que solo cubre la verificación del email
+     * y la inserción (ver {@link CustomerWriter#insert}).
      *
      * @param customer DTO con datos de entrada (firstName, email, country…)
      * @return DTO de respuesta con ID, datos persistidos y Location calculada
@@ -43,34 +82,102 @@ public class CustomerService {
      * @throws CountryNotFoundException si el código de país no existe
      * @throws CountryServiceException si hay un error al consultar el servicio de validación de países
      */
-    @Transactional
     @Counted(value = "customers_created", description = "Total de clientes creados")
     @Timed(value = "customer_creation_time", description = "Tiempo en registrar un cliente")
     public Customer createCustomer(Customer customer) throws CustomerAlreadyExistsException, CountryNotFoundException, CountryServiceException {
-        Log.infof("Creating new customer with name: %s %s %s %s",
+        LOG.infof("Creating new customer with name: %s %s %s %s",
                 customer.getFirstName(), customer.getSecondName(), customer.getFirstLastName(), customer.getSecondLastName());
 
         String country = customer.getCountry();
-        Log.infof("Validating country: %s", country);
+        LOG.infof("Validating country: %s", country);
         CountryInfo countryInfo = countryValidationPort.findByIsoCode(country);
 
-        Log.infof("Country validated successfully: %s %s %s", countryInfo.name(), countryInfo.isoCode(), countryInfo.demonym());
+        LOG.infof("Country validated successfully: %s %s %s", countryInfo.name(), countryInfo.isoCode(), countryInfo.demonym());
         final String countryDemonym = countryInfo.demonym();
         customer.setDemonym(countryDemonym);
 
-        String email = customer.getEmail();
-        Log.infof("Checking if email is already registered: %s", email);
-        if (isEmailAlreadyRegistered(email)) {
-            Log.errorf("Email already registered: %s", email);
-            throw new CustomerAlreadyExistsException("Email already registered: " + email);
+        Customer createdCustomer = customerWriter.insert(customer);
+        LOG.info("Customer created successfully with ID: " + createdCustomer.getId());
+
+        return createdCustomer;
+    }
+
+    /**
+     * Crea un lote de clientes. Cada código de país distinto se valida una sola vez y los clientes válidos se
+     * insertan en una sola transacción (ver {@link CustomerWriter#insertAll}); si otra petición registra uno de los
+     * emails mientras tanto, se insertan uno a uno.
+     *
+     * @param customers clientes a crear
+     * @return resultado de cada cliente, en el mismo orden: creado, conflicto (email ya registrado o repetido
+     * en el lote) o inválido (país inexistente)
+     * @throws CountryServiceException si hay un error al consultar el servicio de validación de países
+     */
+    @Timed(value = "customer.batch.creation.time", description = "Tiempo en registrar un lote de clientes")
+    public List<CustomerBatchResult> createCustomers(List<Customer> customers) throws CountryServiceException {
+        LOG.infof("Creating batch of %d customers", customers.size());
+
+        Map<String, Optional<CountryInfo>> countries = new HashMap<>();
+        CustomerBatchResult[] results = new CustomerBatchResult[customers.size()];
+        Set<String> batchEmails = new HashSet<>();
+        List<Customer> validCustomers = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+
+        for (int i = 0; i < customers.size(); i++) {
+            Customer customer = customers.get(i);
+            Optional<CountryInfo> countryInfo = countries.computeIfAbsent(customer.getCountry(), this::findCountry);
+
+            if (countryInfo.isEmpty()) {
+                results[i] = CustomerBatchResult.invalid("Country not found: " + customer.getCountry());
+            } else if (!batchEmails.add(customer.getEmail())) {
+                results[i] = CustomerBatchResult.conflict("Email repeated in batch: " + customer.getEmail());
+            } else {
+                customer.setDemonym(countryInfo.get().demonym());
+                validCustomers.add(customer);
+                validIndexes.add(i);
+            }
+        }
+        LOG.infof("Validated %d distinct countries for %d customers", countries.size(), customers.size());
+
+        if (!validCustomers.isEmpty()) {
+            List<CustomerBatchResult> inserted = insertAll(validCustomers);
+            for (int i = 0; i < inserted.size(); i++) {
+                results[validIndexes.get(i)] = inserted.get(i);
+            }
         }
-        Log.infof("Email is available: %s", email);
 
-        Log.infof("Saving customer to database: %s", customer);
-        Customer createdCustomer = customerRepository.save(customer);
-        Log.info("Customer created successfully with ID: " + createdCustomer.getId());
+        return Arrays.asList(results);
+    }
 
-        return createdCustomer;
+    /**
+     * Inserta el lote en una transacción y, si un email se registró entre la verificación y la inserción (otra
+     * petición u otra instancia, cuyo filtro de emails no lo conocía), lo reintenta cliente por cliente: cada uno
+     * en su propia transacción, de modo que solo el duplicado queda como conflicto.
+     */
+    private List<CustomerBatchResult> insertAll(List<Customer> customers) {
+        try {
+            return customerWriter.insertAll(customers);
+        } catch (CustomerAlreadyExistsException e) {
+            LOG.warnf("Batch of %d customers hit a concurrently registered email, inserting one by one", customers.size());
+            return customers.stream()
+                    .map(this::insertOne)
+                    .toList();
+        }
+    }
+
+    private CustomerBatchResult insertOne(Customer customer) {
+        try {
+            return CustomerBatchResult.created(customerWriter.insert(customer));
+        } catch (CustomerAlreadyExistsException e) {
+            return CustomerBatchResult.conflict("Email already registered: " + customer.getEmail());
+        }
+    }
+
+    private Optional<CountryInfo> findCountry(String isoCode) throws CountryServiceException {
+        try {
+            return Optional.of(countryValidationPort.findByIsoCode(isoCode));
+        } catch (CountryNotFoundException e) {
+            return Optional.empty();
+        }
     }
 
     /**
@@ -84,11 +191,11 @@ public class CustomerService {
     public Customer getCustomerById(Long customerId) throws CustomerNotFoundException {
         return customerRepository.findById(customerId)
                 .map(customer -> {
-                    Log.info("Customer found: " + customer.getId());
+                    LOG.info("Customer found: " + customer.getId());
                     return customer;
                 })
                 .orElseThrow(() -> {
-                    Log.error("Customer not found: " + customerId);
+                    LOG.error("Customer not found: " + customerId);
                     return new CustomerNotFoundException("Customer not found: " + customerId);
                 });
     }
@@ -97,47 +204,171 @@ public class CustomerService {
      * Busca clientes por país.
      *
      * @param country     Código del país
-     * @param pageRequest Objeto con información de paginación
+     * @param pageRequest Objeto con información de paginación y modo de cálculo del total
      * @return Lista de clientes en el país especificado
      */
     @Timed(value = "customer.fetch.by.country.time", description = "Tiempo en buscar clientes por país")
     public PageResponse<Customer> getCustomersByCountry(String country, PageRequest pageRequest) {
-        Log.info("Fetching customers by country: " + country);
+        LOG.info("Fetching customers by country: " + country);
 
         List<Customer> customers = customerRepository.findByCountry(country, pageRequest.page(), pageRequest.size());
-        Long total = customerRepository.countByCountry(country);
+        PageTotal total = customerCountPort.count(country, pageRequest.totalMode());
 
         return new PageResponse<>(
                 customers,
                 pageRequest.page(),
                 pageRequest.size(),
-                total
+                total.total(),
+                total.mode()
         );
     }
 
     /**
      * Busca todos los clientes.
      *
-     * @param pageRequest Objeto con información de paginación
+     * @param pageRequest Objeto con información de paginación y modo de cálculo del total
      * @return Lista de todos los clientes
      */
     @Timed(value = "customer.fetch.all.time", description = "Tiempo en obtener todos los clientes")
     public PageResponse<Customer> getAllCustomers(PageRequest pageRequest) {
-        Log.info("Fetching all customers");
+        LOG.info("Fetching all customers");
 
         List<Customer> customers = customerRepository.findAll(pageRequest.page(), pageRequest.size());
-        Long total = customerRepository.count();
+        PageTotal total = customerCountPort.count(null, pageRequest.totalMode());
 
         return new PageResponse<>(
                 customers,
                 pageRequest.page(),
                 pageRequest.size(),
-                total
+                total.total(),
+                total.mode()
         );
     }
 
+    /**
+     * Recorre los clientes, opcionalmente de un país, en orden de ID y entrega cada uno a {@code sink} a medida
+     * que se leen de la base de datos, sin cargar la tabla en memoria. La transacción cubre todo el recorrido,
+     * con el timeout de {@code customers.export.transaction-timeout} (en segundos).
+     *
+     * @param country Código del país, o {@code null} para todos los clientes
+     * @param sink    Recibe cada cliente
+     * @return Número de clientes entregados
+     */
+    @Transactional
+    @TransactionConfiguration(timeoutFromConfigProperty = "customers.export.transaction-timeout")
+    @Timed(value = "customer.export.time", description = "Tiempo en exportar clientes")
+    public long exportCustomers(String country, Consumer<Customer> sink) {
+        LOG.infof("Exporting customers of country: %s", country);
+
+        long exported = 0;
+        try (Stream<Customer> customers = customerRepository.streamAll(country)) {
+            Iterator<Customer> iterator = customers.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(iterator.next());
+                exported++;
+            }
+        }
+
+        LOG.infof("Exported %d customers", exported);
+        return exported;
+    }
+
+    /**
+     * Busca clientes por país usando paginación por cursor.
+     * No calcula el total: recorrer páginas profundas no debe costar un {@code COUNT} por página.
+     *
+     * @param country     Código del país
+     * @param pageRequest ID a partir del cual continuar y tamaño de página
+     * @return Página de clientes ordenados por ID
+     */
+    @Timed(value = "customer.fetch.by.country.keyset.time", description = "Tiempo en buscar clientes por país con cursor")
+    public KeysetPageResponse<Customer> getCustomersByCountryAfter(String country, KeysetPageRequest pageRequest) {
+        LOG.infof("Fetching customers by country %s after ID %s", country, pageRequest.afterId());
+
+        List<Customer> customers = customerRepository.findByCountryAfter(country, pageRequest.afterId(), pageRequest.size() + 1);
+
+        return toKeysetPage(customers, pageRequest.size());
+    }
+
+    /**
+     * Busca todos los clientes usando paginación por cursor.
+     * No calcula el total: recorrer páginas profundas no debe costar un {@code COUNT} por página.
+     *
+     * @param pageRequest ID a partir del cual continuar y tamaño de página
+     * @return Página de clientes ordenados por ID
+     */
+    @Timed(value = "customer.fetch.all.keyset.time", description = "Tiempo en obtener clientes con cursor")
+    public KeysetPageResponse<Customer> getAllCustomersAfter(KeysetPageRequest pageRequest) {
+        LOG.infof("Fetching all customers after ID %s", pageRequest.afterId());
+
+        List<Customer> customers = customerRepository.findAllAfter(pageRequest.afterId(), pageRequest.size() + 1);
+
+        return toKeysetPage(customers, pageRequest.size());
+    }
+
+    /**
+     * Se pide un elemento de más para saber si hay página siguiente sin consultar el total.
+     */
+    private static KeysetPageResponse<Customer> toKeysetPage(List<Customer> customers, int size) {
+        if (customers.size() <= size) {
+            return new KeysetPageResponse<>(customers, size, null);
+        }
+
+        List<Customer> page = customers.subList(0, size);
+        return new KeysetPageResponse<>(page, size, page.get(size - 1).getId());
+    }
+
+    /**
+     * Busca varios clientes por ID con una sola consulta.
+     *
+     * @param customerIds IDs de los clientes a buscar; puede haber repetidos
+     * @return Un elemento por ID, en el mismo orden; vacío si el cliente no existe
+     */
+    @Timed(value = "customer.lookup.time", description = "Tiempo en buscar varios clientes por ID")
+    public List<Optional<Customer>> getCustomersByIds(List<Long> customerIds) {
+        Map<Long, Customer> customers = customerRepository.findAllByIds(new LinkedHashSet<>(customerIds)).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        LOG.infof("Found %d of %d customers", customers.size(), customerIds.size());
+
+        return customerIds.stream()
+                .map(id -> Optional.ofNullable(customers.get(id)))
+                .toList();
+    }
+
+    /**
+     * Busca clientes por parte del nombre, de los apellidos o del email, sin distinguir mayúsculas.
+     * Primero el email exacto, luego los que empiezan por el texto buscado y después el resto, cada grupo por ID.
+     *
+     * @param query Texto a buscar
+     * @param limit Número máximo de clientes a devolver
+     * @return Clientes encontrados, como mucho {@code limit}
+     */
+    @Timed(value = "customer.search.time", description = "Tiempo en buscar clientes por nombre o email")
+    public List<Customer> searchCustomers(String query, int limit) {
+        LOG.infof("Searching customers by: %s", query);
+
+        return customerRepository.search(query, limit);
+    }
+
+    /**
+     * Cuenta los clientes de cada país, a partir de los contadores por país (sin recorrer la tabla de clientes).
+     *
+     * @return Número de clientes por código de país, ordenado por código; sin países vacíos
+     */
+    @Timed(value = "customer.stats.countries.time", description = "Tiempo en obtener clientes por país")
+    public Map<String, Long> getCustomerCountPerCountry() {
+        LOG.info("Fetching customer count per country");
+
+        return customerRepository.countPerCountry();
+    }
+
     /**
      * Actualiza un cliente existente.
+     * La existencia del cliente y el país se validan fuera de la transacción, que solo cubre la verificación
+     * del email y la actualización (ver {@link CustomerWriter#update}). La consulta del país a la API externa
+     * corre en un hilo virtual gestionado por Quarkus mientras se lee el cliente, de modo que la espera es la
+     * mayor de las dos y no su suma; si el cliente no existe, la consulta del país se cancela. Si el país ya está
+     * en el catálogo o en la caché, se resuelve en el mismo hilo sin lanzar otro.
      *
      * @param id       ID del cliente a actualizar
      * @param customer Objeto Customer con los nuevos datos del cliente
@@ -146,70 +377,96 @@ public class CustomerService {
      * @throws CustomerAlreadyExistsException si el email ya está registrado
      * @throws IllegalStateException si ocurre un error al actualizar el cliente
      */
-    @Transactional
     @Counted(value = "customers.updated", description = "Total de clientes actualizados")
     @Timed(value = "customer.update.time", description = "Tiempo en actualizar un cliente")
     public Customer updateCustomer(Long id, Customer customer)
             throws CustomerNotFoundException, CustomerAlreadyExistsException, IllegalStateException {
 
-        Log.info("Attempting to update customer with ID: " + id);
-
-        Customer existingCustomer = customerRepository.findById(id)
-                .orElseThrow(() -> {
-                    Log.error("Customer not found for update: " + id);
-                    return new CustomerNotFoundException("Customer not found for update: " + id);
-                });
+        LOG.info("Attempting to update customer with ID: " + id);
 
         String country = customer.getCountry();
+        Future<CountryInfo> countryLookup = null;
         if (country != null && !country.isBlank()) {
-            Log.info("Validating country: " + country);
-            CountryInfo countryInfo = countryValidationPort.findByIsoCode(country);
+            LOG.info("Validating country: " + country);
+            countryLookup = startCountryLookup(country);
+        }
 
-            Log.infof("Country validated successfully: %s %s %s",
-                    countryInfo.name(), countryInfo.isoCode(), countryInfo.demonym());
-            final String countryDemonym = countryInfo.demonym();
+        Optional<Customer> found;
+        try {
+            found = customerRepository.findById(id);
+        } catch (RuntimeException e) {
+            cancel(countryLookup);
+            throw e;
+        }
+        if (found.isEmpty()) {
+            cancel(countryLookup);
+            LOG.error("Customer not found for update: " + id);
+            throw new CustomerNotFoundException("Customer not found for update: " + id);
+        }
+        Customer existingCustomer = found.get();
+
+        CountryInfo countryInfo = null;
+        if (countryLookup != null) {
+            countryInfo = awaitCountryLookup(countryLookup);
 
-            existingCustomer.setCountry(country);
-            existingCustomer.setDemonym(countryDemonym);
+            LOG.infof("Country validated successfully: %s %s %s",
+                    countryInfo.name(), countryInfo.isoCode(), countryInfo.demonym());
         }
 
         String email = customer.getEmail();
+        String newEmail = null;
         if (email != null && !email.isBlank()) {
-            Log.infof("Validating email availability: %s", email);
-            boolean isSameEmail = email.equals(existingCustomer.getEmail());
-            boolean isEmailRegistered = isEmailAlreadyRegistered(email);
-
-            if (isEmailRegistered && !isSameEmail) {
-                Log.errorf("Email already registered: %s", email);
-                throw new CustomerAlreadyExistsException("Email already registered: " + email);
-            }
+            LOG.infof("Validating email availability: %s", email);
 
-            if (isSameEmail) {
-                Log.infof("Email is the same, no update needed: %s", email);
+            if (email.equals(existingCustomer.getEmail())) {
+                LOG.infof("Email is the same, no update needed: %s", email);
                 return existingCustomer;
             }
 
-            Log.infof("Email is available: %s", email);
-            existingCustomer.setEmail(email);
+            newEmail = email;
         }
 
-        String address = customer.getAddress();
-        if (address != null && !address.isBlank()) existingCustomer.setAddress(address);
-
-        String phone = customer.getPhone();
-        if (phone != null && !phone.isBlank()) existingCustomer.setPhone(phone);
-
-        return customerRepository.update(existingCustomer)
+        return customerWriter.update(id, customer, countryInfo, newEmail)
                 .map(updatedCustomer -> {
-                    Log.info("Customer updated successfully with ID: " + updatedCustomer.getId());
+                    LOG.info("Customer updated successfully with ID: " + updatedCustomer.getId());
                     return updatedCustomer;
                 })
                 .orElseThrow(() -> {
-                    Log.error("Failed to update customer with ID: " + existingCustomer.getId());
+                    LOG.error("Failed to update customer with ID: " + id);
                     return new IllegalStateException("Error updating customer with ID: " + id);
                 });
     }
 
+    private Future<CountryInfo> startCountryLookup(String country) {
+        if (countryValidationPort.resolvesLocally(country)) {
+            FutureTask<CountryInfo> lookup = new FutureTask<>(() -> countryValidationPort.findByIsoCode(country));
+            lookup.run();
+            return lookup;
+        }
+        return countryLookupExecutor.submit(() -> countryValidationPort.findByIsoCode(country));
+    }
+
+    /**
+     * Espera el resultado de la consulta del país y relanza la excepción con la que haya fallado
+     * (p. ej. {@link CountryNotFoundException} o {@link CountryServiceException}).
+     */
+    private static CountryInfo awaitCountryLookup(Future<CountryInfo> lookup) throws CountryServiceException {
+        try {
+            return lookup.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new CountryServiceException("Country lookup failed: " + e.getCause());
+        } catch (InterruptedException e) {
+            lookup.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CountryServiceException("Interrupted while waiting for the country lookup");
+        }
+    }
+
+    private static void cancel(Future<?> lookup) {
+        if (lookup != null) lookup.cancel(true);
+    }
+
     /**
      * Elimina un cliente por su ID.
      *
@@ -221,16 +478,16 @@ public class CustomerService {
     @Counted(value = "customers.deleted", description = "Total de clientes eliminados")
     @Timed(value = "customer.deletion.time", description = "Tiempo en eliminar un cliente")
     public boolean deleteCustomer(Long id) throws CustomerNotFoundException {
-        Log.info("Attempting to delete customer with ID: " + id);
+        LOG.info("Attempting to delete customer with ID: " + id);
 
         boolean isDeleted = customerRepository.deleteById(id);
 
         if (!isDeleted) {
-            Log.warn("Customer not found for deletion with ID: " + id);
+            LOG.warn("Customer not found for deletion with ID: " + id);
             throw new CustomerNotFoundException("Customer not found for deletion: " + id);
         }
 
-        Log.info("Customer successfully deleted with ID: " + id);
+        LOG.info("Customer successfully deleted with ID: " + id);
         return true;
     }
 }
\ No newline at end of file
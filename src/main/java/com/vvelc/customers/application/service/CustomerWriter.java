@@ -0,0 +1,119 @@
+package com.vvelc.customers.application.service;
+
+import com.vvelc.customers.application.model.CountryInfo;
+import com.vvelc.customers.application.model.CustomerBatchResult;
+import com.vvelc.customers.domain.exception.CustomerAlreadyExistsException;
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.jboss.logging.Logger;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Parte transaccional de las escrituras de clientes.
+ * {@link CustomerService} valida y enriquece los datos (p. ej. el país contra la API externa) antes de llamar
+ * a estos métodos, de modo que la transacción, y la conexión JDBC del pool, solo cubren la verificación del
+ * email y la escritura.
+ */
+@ApplicationScoped
+@RequiredArgsConstructor
+public class CustomerWriter {
+
+    private static final Logger LOG = Logger.getLogger(CustomerWriter.class);
+
+    private final CustomerRepository customerRepository;
+
+    /**
+     * Inserta un cliente ya validado.
+     * No se consulta antes si el email existe: la restricción única de la tabla rechaza el duplicado en el mismo
+     * INSERT, lo que ahorra una consulta y también cubre dos creaciones simultáneas con el mismo email.
+     *
+     * @param customer cliente con el gentilicio ya resuelto
+     * @return cliente persistido con su ID
+     * @throws CustomerAlreadyExistsException si ya hay un cliente con ese email
+     */
+    @Transactional
+    public Customer insert(Customer customer) throws CustomerAlreadyExistsException {
+        LOG.infof("Saving customer to database: %s", customer);
+        try {
+            return customerRepository.save(customer);
+        } catch (CustomerAlreadyExistsException e) {
+            LOG.errorf("Email already registered: %s", customer.getEmail());
+            throw e;
+        }
+    }
+
+    /**
+     * Inserta un lote de clientes ya validados en una sola transacción. Los emails se verifican con una sola
+     * consulta; los clientes cuyo email ya está registrado no se insertan.
+     *
+     * @param customers clientes con el gentilicio ya resuelto y emails distintos entre sí
+     * @return resultado de cada cliente, en el mismo orden
+     */
+    @Transactional
+    public List<CustomerBatchResult> insertAll(List<Customer> customers) {
+        Set<String> registeredEmails = customerRepository.findExistingEmails(
+                customers.stream().map(Customer::getEmail).toList());
+        LOG.infof("Inserting %d customers, %d emails already registered", customers.size(), registeredEmails.size());
+
+        List<Customer> newCustomers = customers.stream()
+                .filter(customer -> !registeredEmails.contains(customer.getEmail()))
+                .toList();
+        Iterator<Customer> savedCustomers = customerRepository.saveAll(newCustomers).iterator();
+
+        return customers.stream()
+                .map(customer -> registeredEmails.contains(customer.getEmail())
+                        ? CustomerBatchResult.conflict("Email already registered: " + customer.getEmail())
+                        : CustomerBatchResult.created(savedCustomers.next()))
+                .toList();
+    }
+
+    /**
+     * Aplica los cambios a un cliente existente, cambiando su email si se indica uno nuevo.
+     * El cliente se vuelve a leer dentro de la transacción, de modo que los cambios se aplican sobre su estado
+     * actual y no sobre una copia leída antes (p. ej. de la caché).
+     *
+     * @param id          ID del cliente
+     * @param changes     país, dirección y teléfono a cambiar; los campos vacíos se ignoran
+     * @param countryInfo país ya validado, o {@code null} si no cambia
+     * @param newEmail    nuevo email, o {@code null} si no cambia
+     * @return cliente actualizado, o vacío si dejó de existir
+     * @throws CustomerAlreadyExistsException si el nuevo email ya está registrado
+     */
+    @Transactional
+    public Optional<Customer> update(Long id, Customer changes, CountryInfo countryInfo, String newEmail)
+            throws CustomerAlreadyExistsException {
+        Optional<Customer> current = customerRepository.findById(id);
+        if (current.isEmpty()) return Optional.empty();
+
+        Customer customer = current.get();
+        if (countryInfo != null) {
+            customer.setCountry(changes.getCountry());
+            customer.setDemonym(countryInfo.demonym());
+        }
+
+        String address = changes.getAddress();
+        if (address != null && !address.isBlank()) customer.setAddress(address);
+
+        String phone = changes.getPhone();
+        if (phone != null && !phone.isBlank()) customer.setPhone(phone);
+
+        if (newEmail != null) {
+            if (customerRepository.existsByEmail(newEmail)) {
+                LOG.errorf("Email already registered: %s", newEmail);
+                throw new CustomerAlreadyExistsException("Email already registered: " + newEmail);
+            }
+
+            LOG.infof("Email is available: %s", newEmail);
+            customer.setEmail(newEmail);
+        }
+
+        return customerRepository.update(customer);
+    }
+}
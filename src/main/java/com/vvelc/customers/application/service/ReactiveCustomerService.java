@@ -0,0 +1,43 @@
+package com.vvelc.customers.application.service;
+
+import com.vvelc.customers.application.port.outbound.ReactiveCustomerReadPort;
+import com.vvelc.customers.domain.exception.CustomerNotFoundException;
+import com.vvelc.customers.domain.model.Customer;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+/**
+ * Variante no bloqueante de las lecturas de {@link CustomerService}, solo presente al compilar con
+ * {@code customers.reactive.enabled=true}. Sirve para comparar el throughput por núcleo de la ruta caliente
+ * ({@code GET /customers/{id}}) en el event loop frente a la versión en hilos virtuales.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "customers.reactive.enabled", stringValue = "true")
+public class ReactiveCustomerService {
+
+    private static final Logger LOG = Logger.getLogger(ReactiveCustomerService.class);
+
+    private final ReactiveCustomerReadPort customerReadPort;
+
+    public ReactiveCustomerService(ReactiveCustomerReadPort customerReadPort) {
+        this.customerReadPort = customerReadPort;
+    }
+
+    /**
+     * Igual que {@link CustomerService#getCustomerById}: falla con {@link CustomerNotFoundException} si no existe.
+     */
+    public Uni<Customer> getCustomerById(Long customerId) {
+        return customerReadPort.findById(customerId)
+                .map(customer -> customer
+                        .map(found -> {
+                            LOG.info("Customer found: " + found.getId());
+                            return found;
+                        })
+                        .orElseThrow(() -> {
+                            LOG.error("Customer not found: " + customerId);
+                            return new CustomerNotFoundException("Customer not found: " + customerId);
+                        }));
+    }
+}
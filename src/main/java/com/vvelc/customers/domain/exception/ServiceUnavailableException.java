@@ -0,0 +1,14 @@
+package com.vvelc.customers.domain.exception;
+
+import jakarta.ws.rs.core.Response;
+
+public class ServiceUnavailableException extends PublicException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    @Override
+    public int getStatusCode() {
+        return Response.Status.SERVICE_UNAVAILABLE.getStatusCode();
+    }
+}
@@ -2,17 +2,31 @@ package com.vvelc.customers.domain.repository;
 
 import com.vvelc.customers.domain.model.Customer;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface CustomerRepository  {
     Customer save(Customer customer);
+    List<Customer> saveAll(List<Customer> customers);
     List<Customer> findAll(int page, int size);
     List<Customer> findByCountry(String country, int page, int size);
+    List<Customer> findAllAfter(Long afterId, int limit);
+    List<Customer> findByCountryAfter(String country, Long afterId, int limit);
+    Stream<Customer> streamAll(String country);
+    List<Customer> search(String query, int limit);
+    Stream<String> streamEmails();
     Optional<Customer> findById(Long id);
+    List<Customer> findAllByIds(Collection<Long> ids);
     Optional<Customer> update(Customer customer);
     Long count();
     Long countByCountry(String country);
+    Map<String, Long> countPerCountry();
+    Optional<Long> estimateCount();
     boolean existsByEmail(String email);
+    Set<String> findExistingEmails(Collection<String> emails);
     boolean deleteById(Long id);
 }
\ No newline at end of file
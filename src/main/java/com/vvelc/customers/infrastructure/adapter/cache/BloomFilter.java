@@ -0,0 +1,94 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of strings, sized for an expected number of entries and false-positive probability.
+ * {@link #mightContain} never returns {@code false} for a string that was {@link #put}; it returns {@code true}
+ * for an absent string with roughly the configured probability while the filter holds the expected entries.
+ * Entries cannot be removed; build a new filter instead.
+ */
+class BloomFilter {
+
+    // Bit indexes come from int hashes, so at most 2^31 bits (256 MiB)
+    private static final int MAX_WORDS = 1 << 25;
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    BloomFilter(long expectedEntries, double falsePositiveProbability) {
+        long entries = Math.max(1, expectedEntries);
+        long bits = (long) Math.ceil(-entries * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(MAX_WORDS, Math.max(1, (bits + 63) / 64));
+
+        this.words = new AtomicLongArray(words);
+        this.bitSize = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / entries * Math.log(2)));
+    }
+
+    void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            setBit(index(h1 + i * h2));
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Probability that {@link #mightContain} returns {@code true} for an absent string, given the bits set so far.
+     */
+    double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / bitSize, hashCount);
+    }
+
+    long bitSize() {
+        return bitSize;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    private long index(int combinedHash) {
+        // Flip negative hashes, as Guava does, so every bit can be chosen
+        return (combinedHash < 0 ? ~combinedHash : combinedHash) % bitSize;
+    }
+
+    private void setBit(long bit) {
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) return;
+        } while (!words.compareAndSet(word, current, current | mask));
+        bitsSet.incrementAndGet();
+    }
+
+    // 64-bit FNV-1a over the characters, finished with the SplitMix64 mixer so both halves are well distributed
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
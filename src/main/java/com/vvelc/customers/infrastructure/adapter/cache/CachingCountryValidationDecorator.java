@@ -0,0 +1,41 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import com.vvelc.customers.application.model.CountryInfo;
+import com.vvelc.customers.application.port.outbound.CountryValidationPort;
+import com.vvelc.customers.domain.exception.CountryNotFoundException;
+import com.vvelc.customers.domain.exception.CountryServiceException;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+/**
+ * Decorates every {@link CountryValidationPort} with the {@link CountryInfoCache}.
+ * Found countries and {@link CountryNotFoundException}s are cached; {@link CountryServiceException}s are not,
+ * so a transient outage of the external API is retried on the next lookup.
+ * Concurrent lookups of the same uncached code share one call to the delegate.
+ */
+@Decorator
+@Priority(20)
+public class CachingCountryValidationDecorator implements CountryValidationPort {
+
+    @Inject
+    @Delegate
+    CountryValidationPort delegate;
+
+    @Inject
+    CountryInfoCache cache;
+
+    @Override
+    public CountryInfo findByIsoCode(String isoCode) throws CountryNotFoundException, CountryServiceException {
+        CountryInfoCache.CountryLookup lookup = cache.getOrLoad(isoCode, delegate::findByIsoCode);
+        if (!lookup.isFound()) throw new CountryNotFoundException("Country not found: " + isoCode);
+
+        return lookup.countryInfo();
+    }
+
+    @Override
+    public boolean resolvesLocally(String isoCode) {
+        return cache.contains(isoCode) || delegate.resolvesLocally(isoCode);
+    }
+}
@@ -0,0 +1,96 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vvelc.customers.application.model.PageTotal;
+import com.vvelc.customers.application.model.TotalMode;
+import com.vvelc.customers.application.port.outbound.CustomerCountPort;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Computes list totals so that the listing endpoints do not have to pay for a {@code COUNT(*)} on every page.
+ * Cached counts are exact counts kept for a short TTL, keyed by country ({@code *} for all customers), and
+ * exported to Micrometer under the {@code customer-count} cache name. Estimated totals of the whole table come
+ * from the database statistics; when there are none (or for a single country) the cached count is used instead,
+ * and the returned {@link PageTotal} says so.
+ * Concurrent misses for the same key run a single count through {@link SingleFlight}, outside Caffeine's
+ * {@code get(key, loader)}, so a virtual thread waiting on the database does not pin its carrier thread.
+ */
+@ApplicationScoped
+public class CachingCustomerCountAdapter implements CustomerCountPort {
+
+    static final String CACHE_NAME = "customer-count";
+    private static final String ALL = "*";
+
+    private final CustomerRepository customerRepository;
+    private final TotalMode defaultMode;
+    private final Cache<String, Long> counts;
+    private final SingleFlight<String, Long> loads;
+
+    public CachingCustomerCountAdapter(
+            CustomerRepository customerRepository,
+            MeterRegistry meterRegistry,
+            @ConfigProperty(name = "customers.pagination.total-mode", defaultValue = "exact") String defaultMode,
+            @ConfigProperty(name = "customers.pagination.count-cache.ttl", defaultValue = "10s") Duration ttl
+    ) {
+        this.customerRepository = customerRepository;
+        this.defaultMode = TotalMode.from(defaultMode);
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(512)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        this.loads = new SingleFlight<>(CACHE_NAME, meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, CACHE_NAME);
+    }
+
+    @Override
+    public PageTotal count(String country, TotalMode mode) {
+        return switch (mode == null ? defaultMode : mode) {
+            case EXACT -> new PageTotal(exactCount(country), TotalMode.EXACT);
+            case CACHED -> cachedCount(country);
+            case ESTIMATED -> estimatedCount(country);
+            case NONE -> PageTotal.none();
+        };
+    }
+
+    private PageTotal estimatedCount(String country) {
+        Optional<Long> estimate = country == null ? customerRepository.estimateCount() : Optional.empty();
+
+        return estimate
+                .map(total -> new PageTotal(total, TotalMode.ESTIMATED))
+                .orElseGet(() -> cachedCount(country));
+    }
+
+    private PageTotal cachedCount(String country) {
+        String key = country == null ? ALL : country;
+        Long total = counts.getIfPresent(key);
+        if (total == null) {
+            total = loads.execute(key, () -> load(key, country));
+        }
+        return new PageTotal(total, TotalMode.CACHED);
+    }
+
+    private Long load(String key, String country) {
+        // A previous leader may have filled the entry between our miss and taking the lead
+        Long cached = counts.policy().getIfPresentQuietly(key);
+        if (cached != null) return cached;
+
+        Long total = exactCount(country);
+        counts.put(key, total);
+        return total;
+    }
+
+    private Long exactCount(String country) {
+        return country == null ? customerRepository.count() : customerRepository.countByCountry(country);
+    }
+}
@@ -0,0 +1,84 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through {@link CustomerByIdCache} in front of {@link CustomerRepository#findById} and
+ * {@link CustomerRepository#findAllByIds}.
+ * Only reads outside a transaction are served from the cache; {@code update} and {@code deleteById}
+ * invalidate the entry in every mode. A read takes the generation of the id before going to the database, so
+ * its result is not cached if a write invalidated the id meanwhile.
+ */
+@Decorator
+@Priority(10)
+public abstract class CachingCustomerRepositoryDecorator implements CustomerRepository {
+
+    @Inject
+    @Delegate
+    CustomerRepository delegate;
+
+    @Inject
+    CustomerByIdCache cache;
+
+    @Override
+    public Optional<Customer> findById(Long id) {
+        if (!cache.caches(CustomerByIdCache.Mode.OBJECT) || cache.inTransaction()) {
+            return delegate.findById(id);
+        }
+
+        Optional<Customer> cached = cache.getCustomer(id);
+        if (cached.isPresent()) return cached;
+
+        long generation = cache.generation(id);
+        Optional<Customer> customer = delegate.findById(id);
+        customer.ifPresent(found -> cache.putCustomer(found, generation));
+        return customer;
+    }
+
+    /**
+     * Only the IDs missing from the cache are read from the database, still with a single query.
+     */
+    @Override
+    public List<Customer> findAllByIds(Collection<Long> ids) {
+        if (!cache.caches(CustomerByIdCache.Mode.OBJECT) || cache.inTransaction()) {
+            return delegate.findAllByIds(ids);
+        }
+
+        List<Customer> customers = new ArrayList<>(ids.size());
+        Map<Long, Long> misses = new LinkedHashMap<>();
+        for (Long id : ids) {
+            cache.getCustomer(id).ifPresentOrElse(customers::add, () -> misses.put(id, cache.generation(id)));
+        }
+        if (misses.isEmpty()) return customers;
+
+        for (Customer customer : delegate.findAllByIds(List.copyOf(misses.keySet()))) {
+            cache.putCustomer(customer, misses.get(customer.getId()));
+            customers.add(customer);
+        }
+        return customers;
+    }
+
+    @Override
+    public Optional<Customer> update(Customer customer) {
+        cache.invalidate(customer.getId());
+        return delegate.update(customer);
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        cache.invalidate(id);
+        return delegate.deleteById(id);
+    }
+}
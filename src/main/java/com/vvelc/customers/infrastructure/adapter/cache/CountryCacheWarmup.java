@@ -0,0 +1,63 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import com.vvelc.customers.application.port.outbound.CountryValidationPort;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Optionally pre-loads the {@link CountryInfoCache} at startup so the first requests for the most used
+ * countries do not pay the external API round trip. Runs on a background thread and never blocks startup.
+ * <p>
+ * Codes go through the decorated {@link CountryValidationPort}, so they reach the cache only when nothing in front
+ * of it answers them: codes the bundled catalog already resolves are skipped, since their lookups never get to the
+ * cache or the external API.
+ */
+@ApplicationScoped
+public class CountryCacheWarmup {
+
+    private final CountryValidationPort countryValidationPort;
+    private final boolean enabled;
+    private final List<String> isoCodes;
+
+    public CountryCacheWarmup(
+            CountryValidationPort countryValidationPort,
+            @ConfigProperty(name = "customers.country.cache.warm-up.enabled", defaultValue = "false") boolean enabled,
+            @ConfigProperty(name = "customers.country.cache.warm-up.codes") Optional<List<String>> isoCodes
+    ) {
+        this.countryValidationPort = countryValidationPort;
+        this.enabled = enabled;
+        this.isoCodes = isoCodes.orElse(List.of());
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled || isoCodes.isEmpty()) return;
+
+        Thread.ofVirtual().name("country-cache-warmup").start(this::warmUp);
+    }
+
+    void warmUp() {
+        Log.infof("Warming up country cache with %d codes", isoCodes.size());
+        int loaded = 0;
+        int skipped = 0;
+        for (String isoCode : isoCodes) {
+            if (countryValidationPort.resolvesLocally(isoCode)) {
+                skipped++;
+                continue;
+            }
+            try {
+                countryValidationPort.findByIsoCode(isoCode);
+                loaded++;
+            } catch (RuntimeException e) {
+                Log.warnf("Could not warm up country %s: %s", isoCode, e.getMessage());
+            }
+        }
+        Log.infof("Country cache warm-up finished: %d/%d codes loaded, %d already resolved locally",
+                loaded, isoCodes.size(), skipped);
+    }
+}
@@ -0,0 +1,160 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.vvelc.customers.application.model.CountryInfo;
+import com.vvelc.customers.domain.exception.CountryNotFoundException;
+import com.vvelc.customers.domain.exception.CountryServiceException;
+import io.quarkus.logging.Log;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of country lookups keyed by ISO 3166-1 alpha-2 code.
+ * Both found and not-found results are cached, each with its own TTL.
+ * Hits, misses and evictions are exported to Micrometer under the {@code country-info} cache name.
+ * Concurrent misses for the same code are coalesced into a single load. Loads run through {@link SingleFlight}
+ * rather than inside Caffeine's {@code get(key, loader)}, which holds a map lock for the duration of the load, so
+ * a virtual thread waiting on the external API does not pin its carrier thread.
+ * The last known good value of every code is kept after it expires, so while the external API fails
+ * (e.g. its circuit breaker is open) a stale country is served instead of an error.
+ */
+@ApplicationScoped
+public class CountryInfoCache {
+
+    static final String CACHE_NAME = "country-info";
+
+    private final Cache<String, CountryLookup> cache;
+    private final Cache<String, CountryInfo> lastKnownGood;
+    private final boolean serveStale;
+    private final Counter negativeHits;
+    private final Counter staleServed;
+    private final SingleFlight<String, CountryLookup> loads;
+
+    public CountryInfoCache(
+            MeterRegistry meterRegistry,
+            @ConfigProperty(name = "customers.country.cache.maximum-size", defaultValue = "512") long maximumSize,
+            @ConfigProperty(name = "customers.country.cache.ttl", defaultValue = "24h") Duration ttl,
+            @ConfigProperty(name = "customers.country.cache.negative-ttl", defaultValue = "10m") Duration negativeTtl,
+            @ConfigProperty(name = "customers.country.cache.serve-stale", defaultValue = "true") boolean serveStale
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new LookupExpiry(ttl, negativeTtl))
+                .recordStats()
+                .build();
+        this.lastKnownGood = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.serveStale = serveStale;
+        this.negativeHits = Counter.builder("cache.negative.hits")
+                .description("Lookups answered from a cached not-found result")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        this.staleServed = Counter.builder("cache.stale.served")
+                .description("Lookups answered with the last known good value because the external API failed")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        this.loads = new SingleFlight<>(CACHE_NAME, meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached lookup for the given code or loads it. A {@link CountryNotFoundException} thrown by the
+     * loader is cached as a not-found lookup. On a {@link CountryServiceException} the last known good value is
+     * returned, without caching it so the next lookup tries again; if there is none, the exception is propagated
+     * to every coalesced caller.
+     */
+    public CountryLookup getOrLoad(String isoCode, Function<String, CountryInfo> loader) {
+        String key = key(isoCode);
+        CountryLookup cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.isFound()) negativeHits.increment();
+            return cached;
+        }
+
+        return loads.execute(key, () -> load(key, isoCode, loader));
+    }
+
+    private CountryLookup load(String key, String isoCode, Function<String, CountryInfo> loader) {
+        // A previous leader may have filled the entry between our miss and taking the lead
+        CountryLookup cached = cache.policy().getIfPresentQuietly(key);
+        if (cached != null) return cached;
+
+        CountryLookup lookup;
+        try {
+            CountryInfo countryInfo = loader.apply(isoCode);
+            lastKnownGood.put(key, countryInfo);
+            lookup = CountryLookup.found(countryInfo);
+        } catch (CountryNotFoundException e) {
+            lastKnownGood.invalidate(key);
+            lookup = CountryLookup.notFound();
+        } catch (CountryServiceException e) {
+            CountryInfo stale = serveStale ? lastKnownGood.getIfPresent(key) : null;
+            if (stale == null) throw e;
+
+            Log.warnf("Serving stale country %s: %s", key, e.getMessage());
+            staleServed.increment();
+            return CountryLookup.found(stale);
+        }
+        cache.put(key, lookup);
+        return lookup;
+    }
+
+    /**
+     * Whether a lookup of the given code would be answered from the cache, found or not. Does not count as a hit
+     * or a miss.
+     */
+    public boolean contains(String isoCode) {
+        return cache.policy().getIfPresentQuietly(key(isoCode)) != null;
+    }
+
+    private static String key(String isoCode) {
+        return isoCode.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Cached result of a country lookup; {@code countryInfo} is {@code null} when the code does not exist.
+     */
+    public record CountryLookup(CountryInfo countryInfo) {
+        private static final CountryLookup NOT_FOUND = new CountryLookup(null);
+
+        static CountryLookup found(CountryInfo countryInfo) {
+            return new CountryLookup(countryInfo);
+        }
+
+        static CountryLookup notFound() {
+            return NOT_FOUND;
+        }
+
+        public boolean isFound() {
+            return countryInfo != null;
+        }
+    }
+
+    private record LookupExpiry(Duration ttl, Duration negativeTtl) implements Expiry<String, CountryLookup> {
+        @Override
+        public long expireAfterCreate(String key, CountryLookup value, long currentTime) {
+            return (value.isFound() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CountryLookup value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CountryLookup value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
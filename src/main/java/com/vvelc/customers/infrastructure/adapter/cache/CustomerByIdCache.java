@@ -0,0 +1,153 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vvelc.customers.domain.model.Customer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, TTL-evicting cache of customers keyed by ID. Depending on {@code customers.customer-cache.mode} it
+ * holds either {@link Customer} snapshots ({@code object}, filled by {@link CachingCustomerRepositoryDecorator})
+ * or the serialised JSON of the customer response ({@code json}, filled by a response filter of the REST layer).
+ * Hits, misses, size and evictions are exported to Micrometer under the {@code customer-by-id} cache name.
+ * <p>
+ * Writes invalidate the entry immediately and again once their transaction completes. Invalidating is not
+ * enough on its own: a read that loaded the old row before the commit may put it back after both invalidations.
+ * Every invalidation therefore also moves the generation of the id, and a put only lands if the generation is
+ * still the one the caller took before reading ({@link #generation}). Generations are striped over a fixed array,
+ * so an invalidation may also skip the put of an unrelated id, which is only a missed cache fill. The TTL bounds
+ * the staleness left by writes made by other instances.
+ */
+@ApplicationScoped
+public class CustomerByIdCache {
+
+    static final String CACHE_NAME = "customer-by-id";
+    private static final int GENERATION_STRIPES = 1024;
+
+    public enum Mode { OBJECT, JSON }
+
+    private final Cache<Long, Object> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final TransactionSynchronizationRegistry transactions;
+    private final boolean enabled;
+    private final Mode mode;
+
+    public CustomerByIdCache(
+            MeterRegistry meterRegistry,
+            TransactionSynchronizationRegistry transactions,
+            @ConfigProperty(name = "customers.customer-cache.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "customers.customer-cache.mode", defaultValue = "object") String mode,
+            @ConfigProperty(name = "customers.customer-cache.maximum-size", defaultValue = "10000") long maximumSize,
+            @ConfigProperty(name = "customers.customer-cache.ttl", defaultValue = "5m") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.transactions = transactions;
+        this.enabled = enabled;
+        this.mode = Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean caches(Mode mode) {
+        return enabled && this.mode == mode;
+    }
+
+    /**
+     * Returns a copy of the cached customer, so callers can modify it without affecting the cache.
+     */
+    public Optional<Customer> getCustomer(Long id) {
+        return Optional.ofNullable((Customer) cache.getIfPresent(id)).map(CustomerByIdCache::copy);
+    }
+
+    /**
+     * Current generation of the id, to be taken before reading the value that will be put.
+     */
+    public long generation(Long id) {
+        return generations.get(stripe(id));
+    }
+
+    public void putCustomer(Customer customer, long generation) {
+        put(customer.getId(), copy(customer), generation);
+    }
+
+    public Optional<byte[]> getJson(Long id) {
+        return Optional.ofNullable((byte[]) cache.getIfPresent(id));
+    }
+
+    public void putJson(Long id, byte[] json, long generation) {
+        put(id, json, generation);
+    }
+
+    // The check runs under the entry lock, which invalidate() also takes after moving the generation
+    private void put(Long id, Object value, long generation) {
+        cache.asMap().compute(id, (key, current) -> generation(id) == generation ? value : current);
+    }
+
+    /**
+     * Whether the caller runs inside a transaction. Reads in a transaction usually precede a write based
+     * on them, so they should go to the database.
+     */
+    public boolean inTransaction() {
+        return transactions.getTransactionKey() != null;
+    }
+
+    public void invalidate(Long id) {
+        evict(id);
+
+        if (inTransaction() && transactions.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactions.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    private void evict(Long id) {
+        generations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    private static int stripe(Long id) {
+        return Math.floorMod(Long.hashCode(id), GENERATION_STRIPES);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static Customer copy(Customer customer) {
+        return new Customer(
+                customer.getId(),
+                customer.getFirstName(),
+                customer.getSecondName(),
+                customer.getFirstLastName(),
+                customer.getSecondLastName(),
+                customer.getEmail(),
+                customer.getAddress(),
+                customer.getPhone(),
+                customer.getCountry(),
+                customer.getDemonym()
+        );
+    }
+}
@@ -0,0 +1,187 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory {@link BloomFilter} of the registered emails, used by {@link EmailFilterCustomerRepositoryDecorator}
+ * to answer "not registered" without querying the database. It is built at startup by streaming the
+ * {@code email} column, new emails are added as they are written, and it is rebuilt every
+ * {@code customers.email-filter.rebuild-interval} to drop deleted and replaced emails, which otherwise stay as
+ * false positives.
+ * <p>
+ * Until the first build completes every email is reported as possibly registered. Emails written by other
+ * instances are only picked up by the next rebuild, so "not registered" is not proof: with several instances it
+ * can be wrong. The unique email constraint stays the actual check, and callers must handle it rejecting an email
+ * the filter ruled out (see {@link EmailFilterCustomerRepositoryDecorator}).
+ * <p>
+ * Exported metrics: {@code email.filter.checks} (by {@code result}), {@code email.filter.false.positives} and the
+ * observed {@code email.filter.false.positive.rate} (false positives over all checks of unregistered emails),
+ * next to the rate expected from the bits set, {@code email.filter.expected.false.positive.rate}.
+ */
+@ApplicationScoped
+public class EmailExistenceFilter {
+
+    private final CustomerRepository customerRepository;
+    private final TransactionSynchronizationRegistry transactions;
+    private final boolean enabled;
+    private final long expectedEmails;
+    private final double falsePositiveProbability;
+
+    private volatile BloomFilter filter;
+    // Filter being rebuilt; emails written meanwhile go to both, so none is lost when it replaces the current one
+    private volatile BloomFilter building;
+
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+
+    public EmailExistenceFilter(
+            CustomerRepository customerRepository,
+            TransactionSynchronizationRegistry transactions,
+            MeterRegistry meterRegistry,
+            @ConfigProperty(name = "customers.email-filter.enabled", defaultValue = "true") boolean enabled,
+            @ConfigProperty(name = "customers.email-filter.expected-emails", defaultValue = "1000000") long expectedEmails,
+            @ConfigProperty(name = "customers.email-filter.false-positive-probability", defaultValue = "0.01") double falsePositiveProbability
+    ) {
+        this.customerRepository = customerRepository;
+        this.transactions = transactions;
+        this.enabled = enabled;
+        this.expectedEmails = expectedEmails;
+        this.falsePositiveProbability = falsePositiveProbability;
+
+        this.negatives = checks(meterRegistry, "negative");
+        this.positives = checks(meterRegistry, "positive");
+        this.falsePositives = Counter.builder("email.filter.false.positives")
+                .description("Emails the filter reported as possibly registered that were not")
+                .register(meterRegistry);
+        Gauge.builder("email.filter.false.positive.rate", this, EmailExistenceFilter::observedFalsePositiveRate)
+                .description("False positives over all checks of unregistered emails")
+                .register(meterRegistry);
+        Gauge.builder("email.filter.expected.false.positive.rate", this, EmailExistenceFilter::expectedFalsePositiveRate)
+                .description("False-positive rate expected from the bits set in the filter")
+                .register(meterRegistry);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(every = "${customers.email-filter.rebuild-interval:1h}", delayed = "${customers.email-filter.rebuild-interval:1h}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Builds a new filter from the {@code email} column and replaces the current one.
+     */
+    public void rebuild() {
+        if (!enabled) return;
+
+        try {
+            QuarkusTransaction.requiringNew().run(() -> rebuildFrom(customerRepository::streamEmails));
+        } catch (RuntimeException e) {
+            Log.errorf(e, "Could not rebuild the email filter, keeping the current one");
+        }
+    }
+
+    void rebuildFrom(Supplier<Stream<String>> emails) {
+        BloomFilter rebuilt = new BloomFilter(expectedEmails, falsePositiveProbability);
+        // Set before the emails are queried, so writes the query cannot see are added to the new filter
+        building = rebuilt;
+        try (Stream<String> stream = emails.get()) {
+            long count = 0;
+            for (String email : (Iterable<String>) stream::iterator) {
+                rebuilt.put(email);
+                count++;
+            }
+            filter = rebuilt;
+            Log.infof("Email filter rebuilt with %d emails (%d bits, %d hashes)", count, rebuilt.bitSize(), rebuilt.hashCount());
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * Whether the email may be registered; {@code false} means it is definitely not.
+     */
+    public boolean mightContain(String email) {
+        BloomFilter current = filter;
+        if (current == null) return true;
+
+        boolean result = current.mightContain(email);
+        (result ? positives : negatives).increment();
+        return result;
+    }
+
+    /**
+     * Records that an email reported by {@link #mightContain} was not registered after all.
+     */
+    public void recordFalsePositive() {
+        if (filter != null) falsePositives.increment();
+    }
+
+    /**
+     * Adds an email being written. It is added again once the transaction commits, in case a rebuild that started
+     * before the commit could not see it.
+     */
+    public void add(String email) {
+        if (!enabled || email == null) return;
+
+        put(email);
+        if (transactions.getTransactionKey() != null && transactions.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactions.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) put(email);
+                }
+            });
+        }
+    }
+
+    private void put(String email) {
+        BloomFilter current = filter;
+        if (current != null) current.put(email);
+
+        BloomFilter next = building;
+        if (next != null) next.put(email);
+    }
+
+    private double observedFalsePositiveRate() {
+        double falsePositiveCount = falsePositives.count();
+        double unregisteredChecks = negatives.count() + falsePositiveCount;
+        return unregisteredChecks == 0 ? 0 : falsePositiveCount / unregisteredChecks;
+    }
+
+    private double expectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current == null ? 1 : current.expectedFalsePositiveRate();
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("email.filter.checks")
+                .description("Email existence checks answered by the filter")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,77 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Puts the {@link EmailExistenceFilter} in front of the email lookups of {@link CustomerRepository}: emails the
+ * filter rules out are answered as not registered without a query, and only possible matches reach the database.
+ * Written emails are added to the filter.
+ * <p>
+ * A "not registered" answer is unverified: an email written by another instance since the last rebuild of the
+ * filter is missing from it. The write is then rejected by the unique email constraint: {@code update} reports that
+ * email as a conflict, and a batch that hits it in {@code saveAll} is retried one customer at a time by
+ * {@code CustomerService.createCustomers}, so only that item ends up as a conflict.
+ */
+@Decorator
+@Priority(20)
+public abstract class EmailFilterCustomerRepositoryDecorator implements CustomerRepository {
+
+    @Inject
+    @Delegate
+    CustomerRepository delegate;
+
+    @Inject
+    EmailExistenceFilter emailFilter;
+
+    @Override
+    public boolean existsByEmail(String email) {
+        if (!emailFilter.mightContain(email)) return false;
+
+        boolean exists = delegate.existsByEmail(email);
+        if (!exists) emailFilter.recordFalsePositive();
+        return exists;
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        List<String> candidates = emails.stream()
+                .distinct()
+                .filter(emailFilter::mightContain)
+                .toList();
+        if (candidates.isEmpty()) return Set.of();
+
+        Set<String> existing = delegate.findExistingEmails(candidates);
+        for (int i = existing.size(); i < candidates.size(); i++) {
+            emailFilter.recordFalsePositive();
+        }
+        return existing;
+    }
+
+    @Override
+    public Customer save(Customer customer) {
+        emailFilter.add(customer.getEmail());
+        return delegate.save(customer);
+    }
+
+    @Override
+    public List<Customer> saveAll(List<Customer> customers) {
+        customers.forEach(customer -> emailFilter.add(customer.getEmail()));
+        return delegate.saveAll(customers);
+    }
+
+    @Override
+    public Optional<Customer> update(Customer customer) {
+        emailFilter.add(customer.getEmail());
+        return delegate.update(customer);
+    }
+}
@@ -0,0 +1,70 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent calls for the same key: the first caller runs the call, every caller that arrives
+ * while it is in flight waits for that result instead of issuing its own. A failure is rethrown, as the same
+ * exception instance, to the caller and to every waiter.
+ * Issued and coalesced calls are counted in {@code singleflight.calls} tagged with the given name.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter issued;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.issued = counter(name, "issued", meterRegistry);
+        this.coalesced = counter(name, "coalesced", meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, leader);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        issued.increment();
+        try {
+            V value = call.get();
+            leader.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    private static Counter counter(String name, String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("singleflight.calls")
+                .description("Calls issued to the underlying resource versus calls served by an in-flight one")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.vvelc.customers.infrastructure.adapter.catalog;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelc.customers.application.model.CountryInfo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Immutable snapshot of the country catalog.
+ * Entries live in a 26x26 array indexed by the two letters of the ISO 3166-1 alpha-2 code,
+ * so a lookup is two bounds checks and an array read: no hashing, no allocation, no I/O.
+ */
+public final class CountryCatalog {
+
+    private static final int LETTERS = 26;
+
+    private final CountryInfo[] table;
+    private final int size;
+
+    private CountryCatalog(CountryInfo[] table, int size) {
+        this.table = table;
+        this.size = size;
+    }
+
+    public static CountryCatalog of(Collection<CountryInfo> countries) {
+        CountryInfo[] table = new CountryInfo[LETTERS * LETTERS];
+        int size = 0;
+        for (CountryInfo country : countries) {
+            int index = index(country.isoCode());
+            if (index < 0) continue;
+            if (table[index] == null) size++;
+            table[index] = country;
+        }
+        return new CountryCatalog(table, size);
+    }
+
+    /**
+     * Parses a restcountries.com style document ({@code [{"cca2", "name": {"common"}, "demonyms": {"eng": {"m"}}}]}),
+     * either the bundled resource or the body of {@code /v3.1/all?fields=cca2,name,demonyms}.
+     */
+    public static CountryCatalog fromJson(InputStream json, ObjectMapper objectMapper) throws IOException {
+        JsonNode root = objectMapper.readTree(json);
+        CountryInfo[] table = new CountryInfo[LETTERS * LETTERS];
+        int size = 0;
+        for (JsonNode country : root) {
+            String isoCode = country.path("cca2").asText("").toUpperCase(Locale.ROOT);
+            int index = index(isoCode);
+            if (index < 0) continue;
+
+            String name = country.path("name").path("common").asText("Unknown");
+            String demonym = country.path("demonyms").path("eng").path("m").asText("N/A");
+
+            if (table[index] == null) size++;
+            table[index] = new CountryInfo(isoCode, name, demonym);
+        }
+        return new CountryCatalog(table, size);
+    }
+
+    /**
+     * @return the country for the given code (case-insensitive), or {@code null} if it is not in the catalog
+     */
+    public CountryInfo find(String isoCode) {
+        int index = index(isoCode);
+        return index < 0 ? null : table[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    static int index(String isoCode) {
+        if (isoCode == null || isoCode.length() != 2) return -1;
+        int first = letter(isoCode.charAt(0));
+        int second = letter(isoCode.charAt(1));
+        if (first < 0 || second < 0) return -1;
+        return first * LETTERS + second;
+    }
+
+    private static int letter(char c) {
+        if (c >= 'A' && c <= 'Z') return c - 'A';
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        return -1;
+    }
+}
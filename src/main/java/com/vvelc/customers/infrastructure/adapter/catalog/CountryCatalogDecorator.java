@@ -0,0 +1,49 @@
+package com.vvelc.customers.infrastructure.adapter.catalog;
+
+import com.vvelc.customers.application.model.CountryInfo;
+import com.vvelc.customers.application.port.outbound.CountryValidationPort;
+import com.vvelc.customers.domain.exception.CountryNotFoundException;
+import com.vvelc.customers.domain.exception.CountryServiceException;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+/**
+ * Answers {@link CountryValidationPort} lookups from the in-memory {@link CountryCatalog}.
+ * It is the outermost decorator, so a catalog hit never reaches the cache or the external API.
+ * On a miss the lookup continues down the chain, unless the catalog runs offline, in which case
+ * codes that are not in the catalog are reported as not found.
+ */
+@Decorator
+@Priority(10)
+public class CountryCatalogDecorator implements CountryValidationPort {
+
+    @Inject
+    @Delegate
+    CountryValidationPort delegate;
+
+    @Inject
+    CountryCatalogProvider catalogProvider;
+
+    @Override
+    public CountryInfo findByIsoCode(String isoCode) throws CountryNotFoundException, CountryServiceException {
+        if (!catalogProvider.isEnabled()) return delegate.findByIsoCode(isoCode);
+
+        CountryInfo countryInfo = catalogProvider.catalog().find(isoCode);
+        if (countryInfo != null) return countryInfo;
+
+        if (catalogProvider.isOffline()) throw new CountryNotFoundException("Country not found: " + isoCode);
+
+        return delegate.findByIsoCode(isoCode);
+    }
+
+    @Override
+    public boolean resolvesLocally(String isoCode) {
+        if (!catalogProvider.isEnabled()) return delegate.resolvesLocally(isoCode);
+
+        return catalogProvider.isOffline()
+                || catalogProvider.catalog().find(isoCode) != null
+                || delegate.resolvesLocally(isoCode);
+    }
+}
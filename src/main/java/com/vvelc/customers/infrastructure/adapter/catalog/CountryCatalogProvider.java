@@ -0,0 +1,89 @@
+package com.vvelc.customers.infrastructure.adapter.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelc.customers.infrastructure.adapter.rest.CountryValidationApiClient;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Loads the {@link CountryCatalog} once at startup, either from the bundled resource or from a single
+ * {@code /v3.1/all} call to restcountries.com (falling back to the bundled resource if that call fails).
+ */
+@ApplicationScoped
+public class CountryCatalogProvider {
+
+    static final String ALL_FIELDS = "cca2,name,demonyms";
+
+    @Inject
+    @RestClient
+    CountryValidationApiClient countryApiClient;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "customers.country.catalog.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "customers.country.catalog.offline", defaultValue = "false")
+    boolean offline;
+
+    @ConfigProperty(name = "customers.country.catalog.resource", defaultValue = "country-catalog.json")
+    String resource;
+
+    @ConfigProperty(name = "customers.country.catalog.fetch-on-startup", defaultValue = "false")
+    boolean fetchOnStartup;
+
+    private volatile CountryCatalog catalog = CountryCatalog.of(List.of());
+
+    void onStart(@Observes StartupEvent event) {
+        if (!enabled) {
+            Log.info("Country catalog disabled, every lookup goes to the country API");
+            return;
+        }
+
+        catalog = fetchOnStartup && !offline ? fetchFromApi() : loadFromResource();
+        Log.infof("Country catalog loaded with %d countries (offline: %s)", catalog.size(), offline);
+    }
+
+    public CountryCatalog catalog() {
+        return catalog;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    private CountryCatalog fetchFromApi() {
+        try (Response response = countryApiClient.getAllCountries(ALL_FIELDS);
+             InputStream body = response.readEntity(InputStream.class)) {
+            return CountryCatalog.fromJson(body, objectMapper);
+        } catch (Exception e) {
+            Log.warnf("Could not fetch country catalog from API, using bundled %s: %s", resource, e.getMessage());
+            return loadFromResource();
+        }
+    }
+
+    private CountryCatalog loadFromResource() {
+        try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource)) {
+            if (in == null) throw new IllegalStateException("Country catalog resource not found: " + resource);
+            return CountryCatalog.fromJson(in, objectMapper);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read country catalog " + resource, e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.vvelc.customers.infrastructure.adapter.rest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.vvelc.customers.application.model.CountryInfo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * Pull parser for the {@code /v3.1/alpha/{code}} response of restcountries.com.
+ * Only {@code name.common} and {@code demonyms.eng.m} of the first element are read; translations, flags,
+ * maps and every other field are skipped token by token without building a tree, and the rest of the
+ * array is never read.
+ */
+public final class CountryJsonParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private CountryJsonParser() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * @return the first country of the response, or {@code null} if the array is empty
+     * @throws IOException if the body is not a JSON array
+     */
+    public static CountryInfo parseFirst(String isoCode, InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array from country API");
+            }
+            if (parser.nextToken() != JsonToken.START_OBJECT) return null;
+
+            String name = "Unknown";
+            String demonym = "N/A";
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "name" -> name = readString(parser, "common", name);
+                    case "demonyms" -> demonym = readDemonym(parser, demonym);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            return new CountryInfo(isoCode.toUpperCase(Locale.ROOT), name, demonym);
+        }
+    }
+
+    private static String readDemonym(JsonParser parser, String fallback) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return fallback;
+        }
+
+        String demonym = fallback;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String language = parser.currentName();
+            parser.nextToken();
+            if ("eng".equals(language)) demonym = readString(parser, "m", fallback);
+            else parser.skipChildren();
+        }
+        return demonym;
+    }
+
+    private static String readString(JsonParser parser, String field, String fallback) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return fallback;
+        }
+
+        String value = fallback;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (field.equals(name) && token == JsonToken.VALUE_STRING) value = parser.getText();
+            else parser.skipChildren();
+        }
+        return value;
+    }
+}
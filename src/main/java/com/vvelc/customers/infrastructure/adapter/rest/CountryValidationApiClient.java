@@ -1,14 +1,33 @@
 package com.vvelc.customers.infrastructure.adapter.rest;
 
+import com.vvelc.customers.domain.exception.CountryNotFoundException;
+import io.quarkus.rest.client.reactive.ClientExceptionMapper;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.rest.client.inject.RegisterRestClient;
 
-@RegisterRestClient(baseUri = "https://restcountries.com")
+@RegisterRestClient(configKey = "country-api", baseUri = "https://restcountries.com")
 public interface CountryValidationApiClient {
     @GET
     @Path("/v3.1/alpha/{code}")
     Response getCountryByCode(@PathParam("code") String code);
+
+    @GET
+    @Path("/v3.1/all")
+    Response getAllCountries(@QueryParam("fields") String fields);
+
+    /**
+     * Maps 404 to {@link CountryNotFoundException} so an unknown code is not counted as a failure by the
+     * circuit breaker. Any other status keeps the default mapping.
+     */
+    @ClientExceptionMapper
+    static RuntimeException toException(Response response) {
+        if (response.getStatus() == Response.Status.NOT_FOUND.getStatusCode()) {
+            return new CountryNotFoundException("Country not found");
+        }
+        return null;
+    }
 }
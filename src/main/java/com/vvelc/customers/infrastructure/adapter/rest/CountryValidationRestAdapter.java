@@ -6,11 +6,11 @@ import com.vvelc.customers.domain.exception.CountryNotFoundException;
 import com.vvelc.customers.domain.exception.CountryServiceException;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.json.JsonArray;
-import jakarta.json.JsonObject;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
-import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.eclipse.microprofile.faulttolerance.exceptions.FaultToleranceException;
+
+import java.io.InputStream;
 
 /**
  * This class is responsible for validating country information by calling an external REST API.
@@ -20,25 +20,16 @@ import org.eclipse.microprofile.rest.client.inject.RestClient;
 public class CountryValidationRestAdapter implements CountryValidationPort {
 
     @Inject
-    @RestClient
-    private CountryValidationApiClient countryApiClient;
+    private ResilientCountryApiClient countryApiClient;
 
     @Override
     public CountryInfo findByIsoCode(String isoCode) throws CountryNotFoundException, CountryServiceException {
-        try (Response response = countryApiClient.getCountryByCode(isoCode)) {
-            JsonArray jsonArray = response.readEntity(JsonArray.class);
-            if (jsonArray.isEmpty()) throw new CountryNotFoundException(isoCode);
-
-            JsonObject json = jsonArray.getJsonObject(0);
-
-            String name = json.getJsonObject("name").getString("common", "Unknown");
-            String demonym = json
-                    .getJsonObject("demonyms")
-                    .getJsonObject("eng")
-                    .getString("m", "N/A");
-
+        try (Response response = countryApiClient.getCountryByCode(isoCode);
+             InputStream body = response.readEntity(InputStream.class)) {
+            CountryInfo countryInfo = CountryJsonParser.parseFirst(isoCode, body);
+            if (countryInfo == null) throw new CountryNotFoundException(isoCode);
 
-            return new CountryInfo(isoCode.toUpperCase(), name, demonym);
+            return countryInfo;
         } catch (WebApplicationException e) {
             int status = e.getResponse().getStatus();
 
@@ -48,8 +39,16 @@ public class CountryValidationRestAdapter implements CountryValidationPort {
             throw new CountryServiceException("Unexpected response from country API: " + e);
         } catch (CountryNotFoundException e) {
             throw new CountryNotFoundException("Country not found: " + isoCode);
+        } catch (FaultToleranceException e) {
+            // Timeout, full bulkhead or open circuit breaker: fail fast without waiting on the external API
+            throw new CountryServiceException("Country API unavailable: " + e);
         } catch (Exception e) {
             throw new CountryServiceException("Error calling external country API: " + e);
         }
     }
+
+    @Override
+    public boolean resolvesLocally(String isoCode) {
+        return false;
+    }
 }
@@ -0,0 +1,37 @@
+package com.vvelc.customers.infrastructure.adapter.rest;
+
+import com.vvelc.customers.domain.exception.CountryNotFoundException;
+import io.smallrye.faulttolerance.api.CircuitBreakerName;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Timeout;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+
+/**
+ * Guards the calls to {@link CountryValidationApiClient} with a timeout, a bulkhead and the {@value #CIRCUIT_BREAKER}
+ * circuit breaker. It is a separate bean, rather than annotations on {@link CountryValidationRestAdapter}, so the
+ * policies wrap only the HTTP call and not the catalog and cache decorators of the country port.
+ * Parameters can be overridden with the MicroProfile Fault Tolerance keys, e.g.
+ * {@code com.vvelc.customers.infrastructure.adapter.rest.ResilientCountryApiClient/getCountryByCode/Bulkhead/value}.
+ */
+@ApplicationScoped
+public class ResilientCountryApiClient {
+
+    public static final String CIRCUIT_BREAKER = "country-api";
+
+    @Inject
+    @RestClient
+    CountryValidationApiClient countryApiClient;
+
+    @Timeout(3000)
+    @Bulkhead(20)
+    @CircuitBreaker(requestVolumeThreshold = 20, failureRatio = 0.5, delay = 10000, successThreshold = 2,
+            skipOn = CountryNotFoundException.class)
+    @CircuitBreakerName(CIRCUIT_BREAKER)
+    public Response getCountryByCode(String code) {
+        return countryApiClient.getCountryByCode(code);
+    }
+}
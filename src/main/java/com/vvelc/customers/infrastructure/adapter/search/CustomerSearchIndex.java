@@ -0,0 +1,187 @@
+package com.vvelc.customers.infrastructure.adapter.search;
+
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory {@link TrigramIndex} of the customers' names and email, used by
+ * {@link SearchIndexCustomerRepositoryDecorator} to answer searches without the database when
+ * {@code customers.search.backend=memory}. It is built at startup by streaming the customers, written and deleted
+ * customers are applied once their transaction commits, and it is rebuilt every
+ * {@code customers.search.index.rebuild-interval} to pick up writes of other instances and drop the space of
+ * replaced documents.
+ * <p>
+ * Until the first build completes searches go to the database.
+ * <p>
+ * Exported metrics: {@code search.index.customers}, {@code search.index.bytes} (estimated heap) and
+ * {@code search.index.bytes.per.customer}.
+ */
+@ApplicationScoped
+public class CustomerSearchIndex {
+
+    static final String MEMORY_BACKEND = "memory";
+
+    private final CustomerRepository customerRepository;
+    private final TransactionSynchronizationRegistry transactions;
+    private final boolean enabled;
+
+    private volatile TrigramIndex index;
+    // Index being rebuilt; writes committed meanwhile go to both, so none is lost when it replaces the current one
+    private volatile TrigramIndex building;
+
+    public CustomerSearchIndex(
+            CustomerRepository customerRepository,
+            TransactionSynchronizationRegistry transactions,
+            MeterRegistry meterRegistry,
+            @ConfigProperty(name = "customers.search.backend", defaultValue = "database") String backend
+    ) {
+        this.customerRepository = customerRepository;
+        this.transactions = transactions;
+        this.enabled = MEMORY_BACKEND.equalsIgnoreCase(backend);
+
+        Gauge.builder("search.index.customers", this, CustomerSearchIndex::size)
+                .description("Customers in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("search.index.bytes", this, CustomerSearchIndex::estimatedBytes)
+                .description("Estimated heap used by the in-memory search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("search.index.bytes.per.customer", this, CustomerSearchIndex::bytesPerCustomer)
+                .description("Estimated heap used by the in-memory search index per indexed customer")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(every = "${customers.search.index.rebuild-interval:6h}", delayed = "${customers.search.index.rebuild-interval:6h}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Builds a new index from the customers table and replaces the current one.
+     */
+    public void rebuild() {
+        if (!enabled) return;
+
+        try {
+            QuarkusTransaction.requiringNew().run(() -> rebuildFrom(() -> customerRepository.streamAll(null)));
+        } catch (RuntimeException e) {
+            Log.errorf(e, "Could not rebuild the search index, keeping the current one");
+        }
+    }
+
+    void rebuildFrom(Supplier<Stream<Customer>> customers) {
+        TrigramIndex rebuilt = new TrigramIndex();
+        // Set before the customers are queried, so writes committed meanwhile win over the rows read
+        building = rebuilt;
+        try (Stream<Customer> stream = customers.get()) {
+            stream.forEach(customer -> rebuilt.load(customer.getId(), fields(customer)));
+            index = rebuilt;
+            Log.infof("Search index rebuilt with %d customers (~%d KiB)", rebuilt.size(), rebuilt.estimatedBytes() / 1024);
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * IDs of the customers matching {@code query}, best first, with the same ranking as
+     * {@link CustomerRepository#search}; empty if the index is disabled or not built yet.
+     */
+    public Optional<List<Long>> search(String query, int limit) {
+        TrigramIndex current = index;
+        if (current == null) return Optional.empty();
+
+        return Optional.of(Arrays.stream(current.search(query, limit)).boxed().toList());
+    }
+
+    /**
+     * Indexes a written customer once the transaction commits, or right away outside a transaction.
+     */
+    public void index(Customer customer) {
+        if (!enabled || customer.getId() == null) return;
+
+        long id = customer.getId();
+        String[] fields = fields(customer);
+        afterCommit(index -> index.put(id, fields));
+    }
+
+    /**
+     * Removes a deleted customer once the transaction commits, or right away outside a transaction.
+     */
+    public void remove(Long id) {
+        if (!enabled) return;
+
+        afterCommit(index -> index.remove(id));
+    }
+
+    private void afterCommit(Consumer<TrigramIndex> change) {
+        if (transactions.getTransactionKey() == null || transactions.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            apply(change);
+            return;
+        }
+
+        transactions.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) apply(change);
+            }
+        });
+    }
+
+    private void apply(Consumer<TrigramIndex> change) {
+        TrigramIndex current = index;
+        if (current != null) change.accept(current);
+
+        TrigramIndex next = building;
+        if (next != null) change.accept(next);
+    }
+
+    private static String[] fields(Customer customer) {
+        // Same fields as the database search; the email goes last, the index ranks exact email matches by it
+        return new String[]{customer.getFirstName(), customer.getFirstLastName(), customer.getSecondLastName(),
+                customer.getEmail()};
+    }
+
+    private double size() {
+        TrigramIndex current = index;
+        return current == null ? 0 : current.size();
+    }
+
+    private double estimatedBytes() {
+        TrigramIndex current = index;
+        return current == null ? 0 : current.estimatedBytes();
+    }
+
+    private double bytesPerCustomer() {
+        TrigramIndex current = index;
+        return current == null || current.size() == 0 ? 0 : (double) current.estimatedBytes() / current.size();
+    }
+}
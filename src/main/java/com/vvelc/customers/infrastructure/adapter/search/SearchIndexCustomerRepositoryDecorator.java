@@ -0,0 +1,75 @@
+package com.vvelc.customers.infrastructure.adapter.search;
+
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Answers {@link CustomerRepository#search} from the {@link CustomerSearchIndex} when it is enabled and built:
+ * the index ranks the matching IDs and the customers are read with a single ID lookup, in the index order.
+ * Otherwise the search goes to the database. Written and deleted customers are applied to the index.
+ */
+@Decorator
+@Priority(30)
+public abstract class SearchIndexCustomerRepositoryDecorator implements CustomerRepository {
+
+    @Inject
+    @Delegate
+    CustomerRepository delegate;
+
+    @Inject
+    CustomerSearchIndex searchIndex;
+
+    @Override
+    public List<Customer> search(String query, int limit) {
+        Optional<List<Long>> ids = searchIndex.search(query, limit);
+        if (ids.isEmpty()) return delegate.search(query, limit);
+        if (ids.get().isEmpty()) return List.of();
+
+        Map<Long, Customer> customers = delegate.findAllByIds(ids.get()).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        // A customer deleted by another instance stays in the index until the next rebuild
+        return ids.get().stream()
+                .map(customers::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public Customer save(Customer customer) {
+        Customer saved = delegate.save(customer);
+        searchIndex.index(saved);
+        return saved;
+    }
+
+    @Override
+    public List<Customer> saveAll(List<Customer> customers) {
+        List<Customer> saved = delegate.saveAll(customers);
+        saved.forEach(searchIndex::index);
+        return saved;
+    }
+
+    @Override
+    public Optional<Customer> update(Customer customer) {
+        Optional<Customer> updated = delegate.update(customer);
+        updated.ifPresent(searchIndex::index);
+        return updated;
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        boolean deleted = delegate.deleteById(id);
+        if (deleted) searchIndex.remove(id);
+        return deleted;
+    }
+}
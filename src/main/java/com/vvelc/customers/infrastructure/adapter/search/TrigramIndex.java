@@ -0,0 +1,343 @@
+package com.vvelc.customers.infrastructure.adapter.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from character trigrams of the customers' names and email to the customers containing them.
+ * <p>
+ * Every indexed version of a customer is a document with a dense number; a trigram's postings are the sorted
+ * document numbers in a growable {@code int[]}. Documents are only appended: updating a customer marks its
+ * current document as deleted in a bitset and appends a new one, so postings never have to be rewritten.
+ * Deleted documents are skipped by searches and dropped when the index is rebuilt.
+ * <p>
+ * The lowercased fields are kept next to the postings, so that candidates (which have all the trigrams of the
+ * term, but maybe not contiguous) are verified and ranked without reading the database.
+ * Reads and writes are guarded by a read-write lock.
+ */
+final class TrigramIndex {
+
+    static final int MIN_TERM_LENGTH = 3;
+
+    private static final char FIELD_SEPARATOR = '\n';
+    private static final int MISSING = -2;
+    private static final int REMOVED = -1;
+    // Rough JVM sizes, for the memory estimate only
+    private static final int OBJECT_HEADER = 16;
+    private static final int POSTINGS_ENTRY_OVERHEAD = 80;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final LongIntMap documents = new LongIntMap();
+    private final BitSet live = new BitSet();
+    private long[] customerIds = new long[1024];
+    private String[] texts = new String[1024];
+    private int documentCount;
+    private int liveCount;
+    private long textBytes;
+
+    /**
+     * Indexes the current version of a customer, replacing the previous one.
+     */
+    void put(long customerId, String... fields) {
+        lock.writeLock().lock();
+        try {
+            delete(customerId);
+            append(customerId, fields);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a customer read while (re)building the index, unless it was written or removed since the build
+     * started: that version is newer than the one read.
+     */
+    void load(long customerId, String... fields) {
+        lock.writeLock().lock();
+        try {
+            if (documents.get(customerId) == MISSING) append(customerId, fields);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long customerId) {
+        lock.writeLock().lock();
+        try {
+            delete(customerId);
+            documents.put(customerId, REMOVED);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Customers whose names or email contain {@code term}, ignoring case: the exact email first, then those
+     * with a field starting with the term, then the rest, each group by customer ID.
+     *
+     * @return up to {@code limit} customer IDs, best first
+     */
+    long[] search(String term, int limit) {
+        String normalized = term.toLowerCase(Locale.ROOT);
+        if (normalized.indexOf(FIELD_SEPARATOR) >= 0 || limit <= 0) return new long[0];
+
+        lock.readLock().lock();
+        try {
+            TopMatches matches = new TopMatches(limit);
+            if (normalized.length() < MIN_TERM_LENGTH) {
+                for (int document = live.nextSetBit(0); document >= 0; document = live.nextSetBit(document + 1)) {
+                    match(document, normalized, matches);
+                }
+                return matches.customerIds();
+            }
+
+            Postings[] lists = postingsOf(normalized);
+            if (lists == null) return new long[0];
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            Postings shortest = lists[0];
+            for (int i = 0; i < shortest.size; i++) {
+                int document = shortest.documents[i];
+                if (live.get(document) && containedInAll(lists, document)) match(document, normalized, matches);
+            }
+            return matches.customerIds();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap used by the index: postings, per-document arrays, kept texts and the ID map.
+     */
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = textBytes
+                    + (long) customerIds.length * Long.BYTES
+                    + (long) texts.length * Integer.BYTES
+                    + live.size() / Byte.SIZE
+                    + documents.estimatedBytes();
+            for (Postings list : postings.values()) {
+                bytes += POSTINGS_ENTRY_OVERHEAD + (long) list.documents.length * Integer.BYTES;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(long customerId, String... fields) {
+        int document = documentCount++;
+        if (document == customerIds.length) {
+            customerIds = Arrays.copyOf(customerIds, document * 2);
+            texts = Arrays.copyOf(texts, document * 2);
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (!text.isEmpty()) text.append(FIELD_SEPARATOR);
+            if (field == null) continue;
+
+            String normalized = field.toLowerCase(Locale.ROOT);
+            text.append(normalized);
+            for (int i = 0; i + MIN_TERM_LENGTH <= normalized.length(); i++) {
+                postings.computeIfAbsent(trigram(normalized, i), key -> new Postings()).add(document);
+            }
+        }
+
+        customerIds[document] = customerId;
+        texts[document] = text.toString();
+        textBytes += OBJECT_HEADER * 2 + text.length();
+        live.set(document);
+        liveCount++;
+        documents.put(customerId, document);
+    }
+
+    private void delete(long customerId) {
+        int document = documents.get(customerId);
+        if (document < 0 || !live.get(document)) return;
+
+        live.clear(document);
+        liveCount--;
+        textBytes -= OBJECT_HEADER * 2 + texts[document].length();
+        texts[document] = null;
+    }
+
+    private Postings[] postingsOf(String term) {
+        Map<Long, Postings> lists = new HashMap<>();
+        for (int i = 0; i + MIN_TERM_LENGTH <= term.length(); i++) {
+            long trigram = trigram(term, i);
+            Postings list = postings.get(trigram);
+            if (list == null) return null;
+            lists.put(trigram, list);
+        }
+        return lists.values().toArray(Postings[]::new);
+    }
+
+    private static boolean containedInAll(Postings[] lists, int document) {
+        for (int i = 1; i < lists.length; i++) {
+            if (!lists[i].contains(document)) return false;
+        }
+        return true;
+    }
+
+    private void match(int document, String term, TopMatches matches) {
+        String text = texts[document];
+        int at = text.indexOf(term);
+        if (at < 0) return;
+
+        String email = text.substring(text.lastIndexOf(FIELD_SEPARATOR) + 1);
+        int rank;
+        if (email.equals(term)) {
+            rank = 0;
+        } else if (text.startsWith(term) || text.contains(FIELD_SEPARATOR + term)) {
+            rank = 1;
+        } else {
+            rank = 2;
+        }
+        matches.offer(rank, customerIds[document]);
+    }
+
+    private static long trigram(String text, int start) {
+        return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+    }
+
+    /**
+     * Sorted document numbers. Documents are appended in increasing order, so adding is amortized O(1) and a
+     * trigram repeated in the same document is stored once.
+     */
+    private static final class Postings {
+        int[] documents = new int[4];
+        int size;
+
+        void add(int document) {
+            if (size > 0 && documents[size - 1] == document) return;
+            if (size == documents.length) documents = Arrays.copyOf(documents, size + (size >> 1) + 1);
+            documents[size++] = document;
+        }
+
+        boolean contains(int document) {
+            return Arrays.binarySearch(documents, 0, size, document) >= 0;
+        }
+    }
+
+    /**
+     * The {@code limit} best (rank, customer ID) pairs seen, kept in a bounded max-heap of packed longs.
+     */
+    private static final class TopMatches {
+        private final long[] heap;
+        private int size;
+
+        TopMatches(int limit) {
+            this.heap = new long[limit];
+        }
+
+        void offer(int rank, long customerId) {
+            long key = (long) rank << 61 | customerId;
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(size++);
+            } else if (key < heap[0]) {
+                heap[0] = key;
+                siftDown(0);
+            }
+        }
+
+        long[] customerIds() {
+            long[] sorted = Arrays.copyOf(heap, size);
+            Arrays.sort(sorted);
+            for (int i = 0; i < sorted.length; i++) sorted[i] &= (1L << 61) - 1;
+            return sorted;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (heap[parent] >= heap[index]) return;
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int largest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && heap[left] > heap[largest]) largest = left;
+                if (right < size && heap[right] > heap[largest]) largest = right;
+                if (largest == index) return;
+                swap(index, largest);
+                index = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long value = heap[a];
+            heap[a] = heap[b];
+            heap[b] = value;
+        }
+    }
+
+    /**
+     * Open-addressing map from customer ID to document number, without boxing. Customer IDs are positive, so 0
+     * marks an empty slot.
+     */
+    private static final class LongIntMap {
+        private long[] keys = new long[1024];
+        private int[] values = new int[1024];
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) return values[slot];
+                if (keys[slot] == 0) return MISSING;
+            }
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 3 > keys.length * 2) resize();
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) slot = (slot + 1) & mask;
+            if (keys[slot] == 0) size++;
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        long estimatedBytes() {
+            return (long) keys.length * (Long.BYTES + Integer.BYTES);
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static int hash(long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32));
+        }
+    }
+}
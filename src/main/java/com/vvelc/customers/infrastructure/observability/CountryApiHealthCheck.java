@@ -0,0 +1,35 @@
+package com.vvelc.customers.infrastructure.observability;
+
+import com.vvelc.customers.infrastructure.adapter.rest.ResilientCountryApiClient;
+import io.smallrye.faulttolerance.api.CircuitBreakerMaintenance;
+import io.smallrye.faulttolerance.api.CircuitBreakerState;
+import io.smallrye.health.api.Wellness;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+/**
+ * Reports the state of the country API circuit breaker in {@code /q/health} (and {@code /q/health/well}).
+ * It is not a readiness check: while the breaker is open, countries are still answered from the catalog
+ * and the cache, so the instance should keep receiving traffic.
+ */
+@Wellness
+@ApplicationScoped
+public class CountryApiHealthCheck implements HealthCheck {
+
+    final CircuitBreakerMaintenance circuitBreakerMaintenance;
+
+    public CountryApiHealthCheck(CircuitBreakerMaintenance circuitBreakerMaintenance) {
+        this.circuitBreakerMaintenance = circuitBreakerMaintenance;
+    }
+
+    @Override
+    public HealthCheckResponse call() {
+        CircuitBreakerState state = circuitBreakerMaintenance.currentState(ResilientCountryApiClient.CIRCUIT_BREAKER);
+
+        return HealthCheckResponse.named("Country API circuit breaker")
+                .status(state != CircuitBreakerState.OPEN)
+                .withData("state", state.name())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.vvelc.customers.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * One slot of a country counter: the number of customers of the country is the sum of its slots.
+ */
+@Entity
+@Table(name = "customer_country_stats")
+@IdClass(CustomerCountryStatsEntity.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CustomerCountryStatsEntity {
+
+    @Id
+    @Column(name = "country", length = 50)
+    private String country;
+
+    @Id
+    @Column(name = "slot")
+    private int slot;
+
+    @Column(name = "customer_count", nullable = false)
+    private long customerCount;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String country;
+        private int slot;
+    }
+}
@@ -11,7 +11,7 @@ import lombok.Setter;
         name = "customers",
         indexes = {
                 @Index(name = "idx_customers_email", columnList = "email"),
-                @Index(name = "idx_customers_country", columnList = "country")
+                @Index(name = "idx_customers_country_id", columnList = "country, id")
         },
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_customer_email", columnNames = "email")
@@ -23,8 +23,13 @@ import lombok.Setter;
 @Setter
 public class CustomerEntity {
 
+    // Must match the INCREMENT BY of customers_id_seq (V4 migration). Hibernate takes a block of ids per nextval,
+    // which also lets it batch inserts; IDENTITY would need one round trip per row to read the generated key
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_id_seq")
+    @SequenceGenerator(name = "customers_id_seq", sequenceName = "customers_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "first_name", nullable = false, length = 50)
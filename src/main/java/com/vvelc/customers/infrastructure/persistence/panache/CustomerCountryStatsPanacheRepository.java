@@ -0,0 +1,107 @@
+package com.vvelc.customers.infrastructure.persistence.panache;
+
+import com.vvelc.customers.infrastructure.persistence.entity.CustomerCountryStatsEntity;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-country customer counters. They are changed with relative {@code UPDATE}s in the caller's transaction,
+ * so concurrent writers never overwrite each other and a rolled back write leaves the counters untouched.
+ * <p>
+ * The updated row stays locked until the caller commits, so each counter is spread over
+ * {@code customers.stats.slots} rows: every write picks one at random and reads add them up. Concurrent writes
+ * for the same country then only wait for each other when they pick the same slot.
+ */
+@ApplicationScoped
+public class CustomerCountryStatsPanacheRepository
+        implements PanacheRepositoryBase<CustomerCountryStatsEntity, CustomerCountryStatsEntity.Key> {
+
+    private final boolean postgresql;
+    private final int slots;
+
+    public CustomerCountryStatsPanacheRepository(
+            @ConfigProperty(name = "quarkus.datasource.db-kind") String dbKind,
+            @ConfigProperty(name = "customers.stats.slots", defaultValue = "16") int slots
+    ) {
+        this.postgresql = "postgresql".equals(dbKind);
+        this.slots = slots;
+    }
+
+    public void increment(String country) {
+        add(country, 1);
+    }
+
+    public void decrement(String country) {
+        add(country, -1);
+    }
+
+    /**
+     * Adds {@code delta} to one slot of the country, so a slot may go negative; only the sum is meaningful.
+     */
+    public void add(String country, long delta) {
+        int slot = ThreadLocalRandom.current().nextInt(slots);
+        int updated = update("customerCount = customerCount + ?1 where country = ?2 and slot = ?3", delta, country, slot);
+        if (updated > 0) return;
+
+        // First write to this slot: create the row, tolerating a concurrent writer creating it first
+        getEntityManager()
+                .createNativeQuery("INSERT INTO customer_country_stats (country, slot, customer_count) VALUES (?1, ?2, 0) "
+                        + "ON CONFLICT DO NOTHING")
+                .setParameter(1, country)
+                .setParameter(2, slot)
+                .executeUpdate();
+        update("customerCount = customerCount + ?1 where country = ?2 and slot = ?3", delta, country, slot);
+    }
+
+    // Counters are read with projections, not as entities: the relative UPDATEs bypass the persistence context,
+    // so an entity loaded earlier in the same transaction would show a stale count
+
+    public long countOf(String country) {
+        return getEntityManager()
+                .createQuery("select coalesce(sum(s.customerCount), 0) from CustomerCountryStatsEntity s "
+                        + "where s.country = ?1", Long.class)
+                .setParameter(1, country)
+                .getSingleResult();
+    }
+
+    public long total() {
+        return getEntityManager()
+                .createQuery("select coalesce(sum(s.customerCount), 0) from CustomerCountryStatsEntity s", Long.class)
+                .getSingleResult();
+    }
+
+    public Map<String, Long> histogram() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        getEntityManager()
+                .createQuery("select s.country, sum(s.customerCount) from CustomerCountryStatsEntity s "
+                        + "group by s.country having sum(s.customerCount) > 0 order by s.country", Object[].class)
+                .getResultStream()
+                .forEach(row -> histogram.put((String) row[0], (Long) row[1]));
+        return histogram;
+    }
+
+    /**
+     * Recomputes every counter from the customers table in one transaction, into slot 0.
+     * <p>
+     * On PostgreSQL the table is locked first against concurrent writes: writers of other instances wait for the
+     * rebuild to commit and the rebuild waits for theirs, so a counter row created by another writer between the
+     * delete and the insert cannot make the insert fail, and every committed customer is counted exactly once.
+     */
+    public void rebuild() {
+        if (postgresql) {
+            getEntityManager()
+                    .createNativeQuery("LOCK TABLE customer_country_stats IN SHARE ROW EXCLUSIVE MODE")
+                    .executeUpdate();
+        }
+        deleteAll();
+        getEntityManager()
+                .createNativeQuery("INSERT INTO customer_country_stats (country, slot, customer_count) "
+                        + "SELECT country, 0, COUNT(*) FROM customers GROUP BY country")
+                .executeUpdate();
+    }
+}
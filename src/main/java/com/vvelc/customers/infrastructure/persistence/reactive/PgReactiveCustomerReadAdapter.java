@@ -0,0 +1,86 @@
+package com.vvelc.customers.infrastructure.persistence.reactive;
+
+import com.vvelc.customers.application.port.outbound.ReactiveCustomerReadPort;
+import com.vvelc.customers.domain.model.Customer;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Vertx;
+import io.vertx.pgclient.PgBuilder;
+import io.vertx.pgclient.PgConnectOptions;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.PoolOptions;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowIterator;
+import io.vertx.sqlclient.Tuple;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Optional;
+
+/**
+ * Reads customers with the Vert.x PostgreSQL client, so the calling event loop is never blocked. Only built with
+ * {@code customers.reactive.enabled=true}.
+ * <p>
+ * The pool is separate from the JDBC datasource but connects to the same database, with its URL and credentials.
+ * Rows are read straight from the table: the customer cache and the other decorators of the blocking
+ * repository are not in this path.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "customers.reactive.enabled", stringValue = "true")
+public class PgReactiveCustomerReadAdapter implements ReactiveCustomerReadPort {
+
+    static final String FIND_BY_ID = "SELECT id, first_name, second_name, first_last_name, second_last_name, email, "
+            + "address, phone, country, demonym FROM customers WHERE id = $1";
+
+    private final Pool pool;
+
+    public PgReactiveCustomerReadAdapter(
+            Vertx vertx,
+            @ConfigProperty(name = "quarkus.datasource.jdbc.url") String jdbcUrl,
+            @ConfigProperty(name = "quarkus.datasource.username") String username,
+            @ConfigProperty(name = "quarkus.datasource.password") String password,
+            @ConfigProperty(name = "customers.reactive.max-size", defaultValue = "20") int maxSize
+    ) {
+        PgConnectOptions connectOptions = PgConnectOptions.fromUri(jdbcUrl.replaceFirst("^jdbc:", ""))
+                .setUser(username)
+                .setPassword(password)
+                .setCachePreparedStatements(true);
+
+        this.pool = PgBuilder.pool()
+                .with(new PoolOptions().setMaxSize(maxSize))
+                .connectingTo(connectOptions)
+                .using(vertx)
+                .build();
+    }
+
+    @Override
+    public Uni<Optional<Customer>> findById(Long id) {
+        return Uni.createFrom()
+                .completionStage(() -> pool.preparedQuery(FIND_BY_ID).execute(Tuple.of(id)).toCompletionStage())
+                .map(rows -> {
+                    RowIterator<Row> iterator = rows.iterator();
+                    return iterator.hasNext() ? Optional.of(toCustomer(iterator.next())) : Optional.empty();
+                });
+    }
+
+    @PreDestroy
+    void close() {
+        pool.close();
+    }
+
+    private static Customer toCustomer(Row row) {
+        return new Customer(
+                row.getLong("id"),
+                row.getString("first_name"),
+                row.getString("second_name"),
+                row.getString("first_last_name"),
+                row.getString("second_last_name"),
+                row.getString("email"),
+                row.getString("address"),
+                row.getString("phone"),
+                row.getString("country"),
+                row.getString("demonym")
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.vvelc.customers.infrastructure.persistence.repository;
+
+import com.vvelc.customers.infrastructure.persistence.panache.CustomerCountryStatsPanacheRepository;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Rebuilds the per-country counters at startup, so rows written outside the application (e.g. the seed
+ * migration, which runs after the one that creates the counters, or manual SQL) are accounted for.
+ * It is safe while other instances are taking writes (see {@link CustomerCountryStatsPanacheRepository#rebuild()}),
+ * but it briefly blocks them; disable it when that pause matters more than picking up outside writes.
+ */
+@ApplicationScoped
+public class CustomerCountryStatsInitializer {
+
+    private final CustomerCountryStatsPanacheRepository statsRepository;
+    private final boolean rebuildOnStartup;
+
+    public CustomerCountryStatsInitializer(
+            CustomerCountryStatsPanacheRepository statsRepository,
+            @ConfigProperty(name = "customers.stats.rebuild-on-startup", defaultValue = "true") boolean rebuildOnStartup
+    ) {
+        this.statsRepository = statsRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @Transactional
+    void onStart(@Observes StartupEvent event) {
+        if (!rebuildOnStartup) return;
+
+        statsRepository.rebuild();
+        Log.infof("Customer country stats rebuilt: %d countries", statsRepository.histogram().size());
+    }
+}
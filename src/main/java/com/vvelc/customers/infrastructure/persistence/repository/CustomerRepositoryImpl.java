@@ -1,82 +1,390 @@
 package com.vvelc.customers.infrastructure.persistence.repository;
 
+import com.vvelc.customers.domain.exception.CustomerAlreadyExistsException;
 import com.vvelc.customers.domain.model.Customer;
 import com.vvelc.customers.domain.repository.CustomerRepository;
 import com.vvelc.customers.infrastructure.persistence.entity.CustomerEntity;
 import com.vvelc.customers.infrastructure.persistence.mapper.CustomerMapper;
+import com.vvelc.customers.infrastructure.persistence.panache.CustomerCountryStatsPanacheRepository;
 import com.vvelc.customers.infrastructure.persistence.panache.CustomerPanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.TypedQuery;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ApplicationScoped
 public class CustomerRepositoryImpl implements CustomerRepository {
 
+    static final String EMAIL_CONSTRAINT = "uk_customer_email";
+
+    /**
+     * Reads rows straight into {@link Customer}: the results are not entities, so they are neither added to the
+     * persistence context nor snapshotted for dirty checking, and no {@link CustomerEntity} is created to be copied.
+     */
+    static final String SELECT_CUSTOMERS = "select new com.vvelc.customers.domain.model.Customer(c.id, "
+            + "c.firstName, c.secondName, c.firstLastName, c.secondLastName, c.email, c.address, c.phone, c.country, "
+            + "c.demonym) from CustomerEntity c";
+
+    // Written like the V5 index expressions, so that every branch of the OR is an index scan
+    private static final String SEARCH_PREFIX_MATCH = "(lower(c.email) like :prefix escape '\\' "
+            + "or lower(c.firstName) like :prefix escape '\\' "
+            + "or lower(c.firstLastName) like :prefix escape '\\' "
+            + "or lower(c.secondLastName) like :prefix escape '\\')";
+    private static final String SEARCH_INFIX_MATCH = "(lower(c.email) like :contains escape '\\' "
+            + "or lower(c.firstName) like :contains escape '\\' "
+            + "or lower(c.firstLastName) like :contains escape '\\' "
+            + "or lower(c.secondLastName) like :contains escape '\\')";
+    // Filter only; secondLastName is nullable, and "not (false or null)" would drop the row
+    private static final String SEARCH_NO_PREFIX_MATCH = "not (lower(c.email) like :prefix escape '\\' "
+            + "or lower(c.firstName) like :prefix escape '\\' "
+            + "or lower(c.firstLastName) like :prefix escape '\\' "
+            + "or lower(coalesce(c.secondLastName, '')) like :prefix escape '\\')";
+
     private final CustomerPanacheRepository customerPanacheRepository;
+    private final CustomerCountryStatsPanacheRepository statsRepository;
+    private final boolean postgresql;
+    private final int exportFetchSize;
 
-    public CustomerRepositoryImpl(CustomerPanacheRepository customerPanacheRepository) {
+    public CustomerRepositoryImpl(
+            CustomerPanacheRepository customerPanacheRepository,
+            CustomerCountryStatsPanacheRepository statsRepository,
+            @ConfigProperty(name = "quarkus.datasource.db-kind") String dbKind,
+            @ConfigProperty(name = "customers.export.fetch-size", defaultValue = "1000") int exportFetchSize
+    ) {
         this.customerPanacheRepository = customerPanacheRepository;
+        this.statsRepository = statsRepository;
+        this.postgresql = "postgresql".equals(dbKind);
+        this.exportFetchSize = exportFetchSize;
     }
 
+    /**
+     * Inserts the customer right away, so a duplicate email is reported by the {@value #EMAIL_CONSTRAINT}
+     * constraint as a {@link CustomerAlreadyExistsException} instead of being checked with a separate query.
+     */
     @Override
     public Customer save(Customer customer) {
         CustomerEntity entity = CustomerMapper.toEntity(customer);
         customerPanacheRepository.persist(entity);
+        flushOrConflict("Email already registered: " + customer.getEmail());
+        statsRepository.increment(entity.getCountry());
         return CustomerMapper.toDomain(entity);
     }
 
+    /**
+     * Persists all customers in the current transaction and updates each country counter once.
+     * An email registered concurrently since the caller checked fails the whole batch with a
+     * {@link CustomerAlreadyExistsException}.
+     */
     @Override
-    public List<Customer> findAll(int page, int size) {
-        return customerPanacheRepository.findAll().page(page, size).list().stream()
+    public List<Customer> saveAll(List<Customer> customers) {
+        List<CustomerEntity> entities = customers.stream()
+                .map(CustomerMapper::toEntity)
+                .toList();
+        customerPanacheRepository.persist(entities);
+        flushOrConflict("Email already registered by a concurrent request");
+
+        // Counter rows are locked in country order, so concurrent batches cannot deadlock on them
+        entities.stream()
+                .collect(Collectors.groupingBy(CustomerEntity::getCountry, TreeMap::new, Collectors.counting()))
+                .forEach(statsRepository::add);
+
+        return entities.stream()
                 .map(CustomerMapper::toDomain)
                 .toList();
     }
 
+    /**
+     * Offset page ordered by ID, so pages do not overlap or skip rows between requests.
+     */
+    @Override
+    public List<Customer> findAll(int page, int size) {
+        return selectCustomers("order by c.id")
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    /**
+     * Read without loading the entity; {@link #update} and {@link #deleteById} load and lock it themselves.
+     */
     @Override
     public Optional<Customer> findById(Long id) {
-        return customerPanacheRepository.findByIdOptional(id)
-                .map(CustomerMapper::toDomain);
+        return selectCustomers("where c.id = :id")
+                .setParameter("id", id)
+                .getResultList().stream()
+                .findFirst();
     }
 
     @Override
     public List<Customer> findByCountry(String country, int page, int size) {
-        return customerPanacheRepository.find("country", country).page(page, size).list().stream()
-                .map(CustomerMapper::toDomain)
-                .toList();
+        return selectCustomers("where c.country = :country order by c.id")
+                .setParameter("country", country)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    /**
+     * Keyset page: {@code WHERE id > ? ORDER BY id LIMIT ?}, served by the primary key index,
+     * so the cost does not grow with the position in the table the way {@code OFFSET} does.
+     */
+    @Override
+    public List<Customer> findAllAfter(Long afterId, int limit) {
+        return selectCustomers("where c.id > :afterId order by c.id")
+                .setParameter("afterId", keysetStart(afterId))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Keyset page within a country, served by the {@code (country, id)} index.
+     */
+    @Override
+    public List<Customer> findByCountryAfter(String country, Long afterId, int limit) {
+        return selectCustomers("where c.country = :country and c.id > :afterId order by c.id")
+                .setParameter("country", country)
+                .setParameter("afterId", keysetStart(afterId))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Streams customers ordered by ID, optionally of a single country, from a forward-only cursor that fetches
+     * {@code customers.export.fetch-size} rows per round trip (Postgres only uses a cursor inside a transaction).
+     * Rows are projected ({@link #SELECT_CUSTOMERS}), so the persistence context and the heap do not grow with the
+     * number of rows. The stream must be closed.
+     */
+    @Override
+    public Stream<Customer> streamAll(String country) {
+        String where = country == null ? "" : "where c.country = :country";
+        TypedQuery<Customer> query = selectCustomers(where + " order by c.id")
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize);
+        if (country != null) query.setParameter("country", country);
+
+        return query.getResultStream();
+    }
+
+    /**
+     * Customers whose first name, last names or email contain {@code query}, ignoring case, best matches first:
+     * the exact email, then a prefix of any of those fields, then any other match, each group by ID.
+     * Each group is read with its own query, bounded by what is still missing to fill {@code limit}, and the groups
+     * are concatenated here, so the database never ranks every match. On PostgreSQL the exact email and the
+     * prefixes are served by the {@code text_pattern_ops} B-trees and the infixes by the pg_trgm indexes (V5
+     * migration), each {@code OR} as a bitmap OR; on other databases (H2 in tests) they are scans.
+     */
+    @Override
+    public List<Customer> search(String query, int limit) {
+        String term = query.toLowerCase(Locale.ROOT);
+        String prefix = escapeLike(term) + "%";
+        Map<Long, Customer> matches = new LinkedHashMap<>();
+
+        selectCustomers("where lower(c.email) = :term")
+                .setParameter("term", term)
+                .setMaxResults(1)
+                .getResultList()
+                .forEach(customer -> matches.put(customer.getId(), customer));
+
+        // The exact email is also a prefix match, so one more row fills the limit after dropping it
+        selectCustomers("where " + SEARCH_PREFIX_MATCH + " order by c.id")
+                .setParameter("prefix", prefix)
+                .setMaxResults(limit + matches.size())
+                .getResultList()
+                .forEach(customer -> matches.putIfAbsent(customer.getId(), customer));
+
+        if (matches.size() < limit) {
+            selectCustomers("where " + SEARCH_INFIX_MATCH + " and " + SEARCH_NO_PREFIX_MATCH + " order by c.id")
+                    .setParameter("contains", "%" + prefix)
+                    .setParameter("prefix", prefix)
+                    .setMaxResults(limit - matches.size())
+                    .getResultList()
+                    .forEach(customer -> matches.put(customer.getId(), customer));
+        }
+
+        return matches.values().stream().limit(limit).toList();
+    }
+
+    /**
+     * Customers with the given IDs, in no particular order, read with a single {@code WHERE id IN} query and
+     * projected like the other reads ({@link #SELECT_CUSTOMERS}). IDs that do not exist are left out.
+     */
+    @Override
+    public List<Customer> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        return selectCustomers("where c.id in :ids")
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    private TypedQuery<Customer> selectCustomers(String clauses) {
+        return customerPanacheRepository.getEntityManager()
+                .createQuery(SELECT_CUSTOMERS + " " + clauses, Customer.class)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Streams every registered email from a forward-only cursor, without loading the customers.
+     * The stream must be closed.
+     */
+    @Override
+    public Stream<String> streamEmails() {
+        return customerPanacheRepository.getEntityManager()
+                .createQuery("select c.email from CustomerEntity c", String.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .getResultStream();
+    }
+
+    private static long keysetStart(Long afterId) {
+        return afterId == null ? 0L : afterId;
     }
 
+    /**
+     * The row is locked so that concurrent updates cannot both move the same customer out of its old country.
+     * The change is flushed right away, so an email taken concurrently fails as a
+     * {@link CustomerAlreadyExistsException} rather than at commit.
+     */
     @Override
     public Optional<Customer> update(Customer customer) {
-        return customerPanacheRepository.findByIdOptional(customer.getId())
+        return customerPanacheRepository.findByIdOptional(customer.getId(), LockModeType.PESSIMISTIC_WRITE)
                 .map(entity -> {
+                            if (!Objects.equals(entity.getCountry(), customer.getCountry())) {
+                                moveCounter(entity.getCountry(), customer.getCountry());
+                            }
                             entity.setEmail(customer.getEmail());
                             entity.setAddress(customer.getAddress());
                             entity.setPhone(customer.getPhone());
                             entity.setCountry(customer.getCountry());
                             entity.setDemonym(customer.getDemonym());
+                            flushOrConflict("Email already registered: " + customer.getEmail());
                             return CustomerMapper.toDomain(entity);
                         }
                 );
     }
 
+    /**
+     * Moves one customer between country counters, locking the two rows in country order so that two updates
+     * moving customers in opposite directions cannot deadlock.
+     */
+    private void moveCounter(String from, String to) {
+        if (from.compareTo(to) < 0) {
+            statsRepository.decrement(from);
+            statsRepository.increment(to);
+        } else {
+            statsRepository.increment(to);
+            statsRepository.decrement(from);
+        }
+    }
+
     @Override
     public boolean deleteById(Long id) {
-        return customerPanacheRepository.deleteById(id);
+        return customerPanacheRepository.findByIdOptional(id, LockModeType.PESSIMISTIC_WRITE)
+                .map(entity -> {
+                    customerPanacheRepository.delete(entity);
+                    statsRepository.decrement(entity.getCountry());
+                    return true;
+                })
+                .orElse(false);
     }
 
+    /**
+     * Read from the per-country counters instead of scanning the customers table.
+     */
     @Override
     public Long count() {
-        return customerPanacheRepository.count();
+        return statsRepository.total();
     }
 
+    /**
+     * Read from the per-country counters instead of scanning the customers table.
+     */
     @Override
     public Long countByCountry(String country) {
-        return customerPanacheRepository.count("country", country);
+        return statsRepository.countOf(country);
     }
 
+    @Override
+    public Map<String, Long> countPerCountry() {
+        return statsRepository.histogram();
+    }
+
+    /**
+     * Row estimate kept by Postgres in {@code pg_class.reltuples} (refreshed by VACUUM/ANALYZE), read without
+     * scanning the table. Empty on other databases and while the table has never been analyzed ({@code -1}).
+     */
+    @Override
+    public Optional<Long> estimateCount() {
+        if (!postgresql) return Optional.empty();
+
+        Number reltuples = (Number) customerPanacheRepository.getEntityManager()
+                .createNativeQuery("SELECT reltuples FROM pg_class WHERE oid = 'customers'::regclass")
+                .getSingleResult();
+
+        return reltuples.longValue() < 0 ? Optional.empty() : Optional.of(reltuples.longValue());
+    }
+
+    /**
+     * Probes the unique email index for a single row ({@code LIMIT 1}) instead of counting matches.
+     */
     @Override
     public boolean existsByEmail(String email) {
-        return customerPanacheRepository.count("email", email) > 0;
+        return !customerPanacheRepository.getEntityManager()
+                .createQuery("select c.id from CustomerEntity c where c.email = ?1", Long.class)
+                .setParameter(1, email)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /**
+     * Which of the given emails are already registered, with a single {@code IN (...)} query.
+     */
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        if (emails.isEmpty()) return Set.of();
+
+        return new HashSet<>(customerPanacheRepository.getEntityManager()
+                .createQuery("select c.email from CustomerEntity c where c.email in ?1", String.class)
+                .setParameter(1, emails)
+                .getResultList());
+    }
+
+    private void flushOrConflict(String conflictMessage) {
+        try {
+            customerPanacheRepository.flush();
+        } catch (PersistenceException e) {
+            if (violatesEmailConstraint(e)) throw new CustomerAlreadyExistsException(conflictMessage);
+            throw e;
+        }
+    }
+
+    // Postgres reports the constraint name as is; H2 reports it upper-cased with a suffix
+    private static boolean violatesEmailConstraint(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraint = violation.getConstraintName();
+                return constraint != null && constraint.toLowerCase(Locale.ROOT).contains(EMAIL_CONSTRAINT);
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,22 @@
+package com.vvelc.customers.infrastructure.persistence.repository;
+
+import io.quarkus.flyway.FlywayConfigurationCustomizer;
+import jakarta.inject.Singleton;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.database.postgresql.PostgreSQLConfigurationExtension;
+
+/**
+ * Makes Flyway serialise migrations on PostgreSQL with a session advisory lock instead of a transactional one.
+ * The transactional lock keeps a transaction open on a second connection while the migrations run, and
+ * {@code CREATE INDEX CONCURRENTLY} (V5) waits for every open transaction to finish, so it would wait forever.
+ */
+@Singleton
+public class FlywaySessionLockCustomizer implements FlywayConfigurationCustomizer {
+
+    @Override
+    public void customize(FluentConfiguration configuration) {
+        configuration.getPluginRegister()
+                .getPlugin(PostgreSQLConfigurationExtension.class)
+                .setTransactionalLock(false);
+    }
+}
@@ -0,0 +1,18 @@
+package com.vvelc.customers.interface_.rest.controller;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an endpoint that returns one customer, identified by the {@code id} path parameter, whose serialised
+ * response may be cached and served as is ({@code customers.customer-cache.mode=json}).
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface CacheableCustomerJson {
+}
@@ -1,42 +1,103 @@
 package com.vvelc.customers.interface_.rest.controller;
 
+import com.vvelc.customers.application.model.KeysetPageRequest;
+import com.vvelc.customers.application.model.KeysetPageResponse;
 import com.vvelc.customers.application.model.PageRequest;
 import com.vvelc.customers.application.model.PageResponse;
+import com.vvelc.customers.application.model.TotalMode;
 import com.vvelc.customers.application.service.CustomerService;
+import com.vvelc.customers.application.model.CustomerBatchResult;
+import com.vvelc.customers.domain.exception.BadRequestException;
+import com.vvelc.customers.domain.exception.ServiceUnavailableException;
 import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.interface_.rest.controller.query.CustomerCursor;
 import com.vvelc.customers.interface_.rest.controller.query.CustomerQueryParams;
+import com.vvelc.customers.interface_.rest.dto.CountryCustomerCountResponse;
+import com.vvelc.customers.interface_.rest.dto.CustomerBatchResponse;
 import com.vvelc.customers.interface_.rest.dto.CustomerCreateRequest;
+import com.vvelc.customers.interface_.rest.dto.CustomerImportResponse;
+import com.vvelc.customers.interface_.rest.dto.CustomerLookupItemResponse;
+import com.vvelc.customers.interface_.rest.dto.CustomerLookupResponse;
 import com.vvelc.customers.interface_.rest.dto.CustomerPageResponse;
 import com.vvelc.customers.interface_.rest.dto.CustomerResponse;
+import com.vvelc.customers.interface_.rest.dto.CustomerSearchResponse;
 import com.vvelc.customers.interface_.rest.dto.CustomerUpdateRequest;
+import com.vvelc.customers.interface_.rest.exporter.CustomerExportFormat;
+import com.vvelc.customers.interface_.rest.exporter.CustomerExporter;
+import com.vvelc.customers.interface_.rest.importer.CustomerImportFormat;
+import com.vvelc.customers.interface_.rest.importer.CustomerImporter;
 import com.vvelc.customers.interface_.rest.mapper.CustomerDtoMapper;
 import io.quarkus.logging.Log;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.faulttolerance.exceptions.BulkheadException;
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+/**
+ * Los endpoints corren en hilos virtuales: mientras esperan a la API de países o a la base de datos no ocupan un
+ * hilo del pool de workers. Con {@code quarkus.virtual-threads.enabled=false} (fijado al compilar) vuelven a
+ * correr en el pool de workers.
+ */
 @Tag(name = "Customers", description = "Operaciones relacionadas con clientes")
+@RunOnVirtualThread
 @Path(CustomerController.PATH)
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 public class CustomerController {
 
-    protected static final String PATH = "/customers";
+    public static final String PATH = "/customers";
+
+    // Shorter terms have no trigram and could not use the search indexes
+    static final int MIN_SEARCH_LENGTH = 3;
+    static final int MAX_SEARCH_LENGTH = 100;
 
     @Inject
     CustomerService customerService;
 
+    @Inject
+    Validator validator;
+
+    @Inject
+    CustomerImporter customerImporter;
+
+    @Inject
+    CustomerExporter customerExporter;
+
+    @ConfigProperty(name = "customers.batch.max-size", defaultValue = "500")
+    int maxBatchSize;
+
+    @ConfigProperty(name = "customers.lookup.max-ids", defaultValue = "500")
+    int maxLookupIds;
+
+    @ConfigProperty(name = "customers.search.max-results", defaultValue = "50")
+    int maxSearchResults;
+
     @POST
     @Operation(summary = "Crear un nuevo cliente")
     @APIResponse(responseCode = "201", description = "Cliente creado exitosamente", content = @Content(
@@ -66,6 +127,110 @@ public class CustomerController {
                 .build();
     }
 
+    @POST
+    @Path("/batch")
+    @Operation(summary = "Crear clientes en lote",
+            description = "Cada cliente se valida por separado; el resultado de cada uno (created, conflict o invalid) "
+                    + "se devuelve en el mismo orden que la petición")
+    @APIResponse(responseCode = "200", description = "Resultado de cada cliente del lote", content = @Content(
+            schema = @Schema(implementation = CustomerBatchResponse.class)
+    ))
+    @APIResponse(responseCode = "400", description = "Lote vacío o con más clientes de los permitidos")
+    @RequestBody(
+            content = @Content(
+                    schema = @Schema(implementation = CustomerCreateRequest.class, type = SchemaType.ARRAY)
+            )
+    )
+    public Response createCustomers(List<CustomerCreateRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new BadRequestException("At least one customer is required");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new BadRequestException("A batch accepts at most " + maxBatchSize + " customers");
+        }
+        Log.infof("Received batch creation request for %d customers", requests.size());
+
+        // Invalid items are reported individually instead of rejecting the whole batch
+        CustomerBatchResult[] results = new CustomerBatchResult[requests.size()];
+        List<Customer> customers = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CustomerCreateRequest request = requests.get(i);
+            Set<ConstraintViolation<CustomerCreateRequest>> violations = request == null ? Set.of() : validator.validate(request);
+
+            if (request == null) {
+                results[i] = CustomerBatchResult.invalid("Customer is required");
+            } else if (!violations.isEmpty()) {
+                results[i] = CustomerBatchResult.invalid(violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            } else {
+                customers.add(CustomerDtoMapper.toDomain(request));
+                indexes.add(i);
+            }
+        }
+
+        if (!customers.isEmpty()) {
+            List<CustomerBatchResult> created = customerService.createCustomers(customers);
+            for (int i = 0; i < created.size(); i++) {
+                results[indexes.get(i)] = created.get(i);
+            }
+        }
+
+        Map<CustomerBatchResult.Status, Long> totals = Arrays.stream(results)
+                .collect(Collectors.groupingBy(CustomerBatchResult::status, Collectors.counting()));
+        CustomerBatchResponse batchResponse = new CustomerBatchResponse(
+                totals.getOrDefault(CustomerBatchResult.Status.CREATED, 0L),
+                totals.getOrDefault(CustomerBatchResult.Status.CONFLICT, 0L),
+                totals.getOrDefault(CustomerBatchResult.Status.INVALID, 0L),
+                IntStream.range(0, results.length)
+                        .mapToObj(i -> CustomerDtoMapper.toDto(i, results[i]))
+                        .toList()
+        );
+
+        return Response.ok(batchResponse).build();
+    }
+
+    @POST
+    @Path("/import")
+    @Consumes(CustomerImportFormat.NDJSON_MEDIA_TYPE)
+    @Operation(summary = "Importar clientes desde NDJSON",
+            description = "Un cliente por línea. El cuerpo se lee por partes y los clientes se crean en bloques, "
+                    + "cada uno en su propia transacción; se devuelve el total por resultado y los errores por línea")
+    @APIResponse(responseCode = "200", description = "Resumen de la importación", content = @Content(
+            schema = @Schema(implementation = CustomerImportResponse.class)
+    ))
+    @APIResponse(responseCode = "503", description = "Hay demasiadas importaciones en curso")
+    public Response importCustomersNdjson(InputStream body) {
+        return importCustomers(body, CustomerImportFormat.NDJSON);
+    }
+
+    @POST
+    @Path("/import")
+    @Consumes(CustomerImportFormat.CSV_MEDIA_TYPE)
+    @Operation(summary = "Importar clientes desde CSV",
+            description = "La primera línea indica las columnas (firstName, secondName, firstLastName, secondLastName, "
+                    + "email, address, phone, country) en cualquier orden. Se procesa igual que la importación NDJSON")
+    @APIResponse(responseCode = "200", description = "Resumen de la importación", content = @Content(
+            schema = @Schema(implementation = CustomerImportResponse.class)
+    ))
+    @APIResponse(responseCode = "400", description = "Cabecera CSV con columnas desconocidas")
+    @APIResponse(responseCode = "503", description = "Hay demasiadas importaciones en curso")
+    public Response importCustomersCsv(InputStream body) {
+        return importCustomers(body, CustomerImportFormat.CSV);
+    }
+
+    private Response importCustomers(InputStream body, CustomerImportFormat format) {
+        Log.infof("Received %s customer import request", format);
+
+        try {
+            return Response.ok(customerImporter.importCustomers(body, format)).build();
+        } catch (BulkheadException e) {
+            throw new ServiceUnavailableException("Too many imports in progress, try again later");
+        }
+    }
+
     @GET
     @Path("/{id}")
     @Operation(summary = "Obtener un cliente por ID")
@@ -73,6 +238,7 @@ public class CustomerController {
             schema = @Schema(implementation = CustomerResponse.class)
     ))
     @APIResponse(responseCode = "404", description = "Cliente no encontrado")
+    @CacheableCustomerJson
     public Response getById(@PathParam("id") Long id) {
         Log.info("Received request to get customer by ID: " + id);
 
@@ -83,23 +249,73 @@ public class CustomerController {
         return Response.ok(customerResponse).build();
     }
 
+    @POST
+    @Path("/lookup")
+    @Operation(summary = "Obtener varios clientes por ID",
+            description = "Los clientes se leen con una sola consulta y se devuelven en el mismo orden que los IDs "
+                    + "de la petición; los que no existen se marcan con status not_found")
+    @APIResponse(responseCode = "200", description = "Resultado de cada ID", content = @Content(
+            schema = @Schema(implementation = CustomerLookupResponse.class)
+    ))
+    @APIResponse(responseCode = "400", description = "Lista vacía, con IDs nulos o con más IDs de los permitidos")
+    @RequestBody(
+            content = @Content(
+                    schema = @Schema(implementation = Long.class, type = SchemaType.ARRAY)
+            )
+    )
+    public Response lookupCustomers(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one ID is required");
+        }
+        if (ids.size() > maxLookupIds) {
+            throw new BadRequestException("A lookup accepts at most " + maxLookupIds + " IDs");
+        }
+        if (ids.contains(null)) {
+            throw new BadRequestException("IDs must not be null");
+        }
+        Log.infof("Received request to get %d customers by ID", ids.size());
+
+        List<Optional<Customer>> customers = customerService.getCustomersByIds(ids);
+
+        List<CustomerLookupItemResponse> items = IntStream.range(0, ids.size())
+                .mapToObj(i -> CustomerDtoMapper.toDto(ids.get(i), customers.get(i)))
+                .toList();
+        long found = customers.stream().filter(Optional::isPresent).count();
+
+        return Response.ok(new CustomerLookupResponse(found, ids.size() - found, items)).build();
+    }
+
     @GET
-    @Operation(summary = "Obtener todos los clientes")
+    @Operation(summary = "Obtener todos los clientes",
+            description = "Paginación por offset (page/size) o por cursor (pagination=cursor, o cursor con el nextCursor de la página anterior): "
+                    + "las páginas se ordenan por ID, no se calcula el total y nextCursor indica la siguiente página. "
+                    + "Con paginación por offset, total elige cómo se calcula el total (exact, estimated, cached o none); "
+                    + "totalMode indica el modo usado")
     @APIResponse(responseCode = "200", description = "Lista de clientes", content = @Content(
             schema = @Schema(
                     implementation = CustomerPageResponse.class
             )
     ))
+    @APIResponse(responseCode = "400", description = "Parámetros de consulta o cursor inválidos")
     public Response getAll(@Valid @BeanParam CustomerQueryParams queryParams) {
-        final PageRequest pageRequest = new PageRequest(queryParams.getPage(), queryParams.getSize());
-        final PageResponse<Customer> customers;
-
         // If a country is provided, filter customers by country
         // Otherwise, return all customers
         String country = Optional.ofNullable(queryParams.getCountry())
                 .map(String::toUpperCase)
+                .filter(c -> !c.isBlank())
                 .orElse(null);
-        if (country != null && !country.isBlank()) {
+
+        if (queryParams.isCursorPagination()) {
+            return getAllByCursor(country, queryParams.getCursor(), queryParams.getSize());
+        }
+
+        final TotalMode totalMode = Optional.ofNullable(queryParams.getTotal())
+                .map(TotalMode::from)
+                .orElse(null);
+        final PageRequest pageRequest = new PageRequest(queryParams.getPage(), queryParams.getSize(), totalMode);
+        final PageResponse<Customer> customers;
+
+        if (country != null) {
             Log.info("Received request to get customers by country: " + country);
             customers = customerService.getCustomersByCountry(country, pageRequest);
         } else {
@@ -113,13 +329,121 @@ public class CustomerController {
                         .toList(),
                 customers.getPage(),
                 customers.getSize(),
-                customers.getTotal()
+                customers.getTotal(),
+                customers.getTotalMode(),
+                null
+        );
+
+        return Response.ok(pageResponse)
+                .build();
+    }
+
+    private Response getAllByCursor(String country, String cursor, int size) {
+        final Long afterId = cursor == null ? null : CustomerCursor.decode(cursor, country).lastId();
+        final KeysetPageRequest pageRequest = new KeysetPageRequest(afterId, size);
+        final KeysetPageResponse<Customer> customers;
+
+        if (country != null) {
+            Log.infof("Received request to get customers by country %s after ID %s", country, afterId);
+            customers = customerService.getCustomersByCountryAfter(country, pageRequest);
+        } else {
+            Log.infof("Received request to get all customers after ID %s", afterId);
+            customers = customerService.getAllCustomersAfter(pageRequest);
+        }
+
+        final String nextCursor = Optional.ofNullable(customers.getNextAfterId())
+                .map(lastId -> new CustomerCursor(lastId, country).encode())
+                .orElse(null);
+
+        final CustomerPageResponse pageResponse = new CustomerPageResponse(
+                customers.getItems().stream()
+                        .map(CustomerDtoMapper::toDto)
+                        .toList(),
+                0,
+                customers.getSize(),
+                null,
+                TotalMode.NONE,
+                nextCursor
         );
 
         return Response.ok(pageResponse)
                 .build();
     }
 
+    @GET
+    @Path("/export")
+    @Produces({CustomerExportFormat.NDJSON_MEDIA_TYPE, CustomerExportFormat.CSV_MEDIA_TYPE})
+    @Operation(summary = "Exportar clientes",
+            description = "Devuelve todos los clientes, o los de un país, ordenados por ID, en NDJSON o CSV (format). "
+                    + "Las filas se escriben a medida que se leen de la base de datos, sin paginar ni contar")
+    @APIResponse(responseCode = "200", description = "Clientes exportados")
+    @APIResponse(responseCode = "400", description = "Formato de exportación inválido")
+    @APIResponse(responseCode = "503", description = "Hay demasiadas exportaciones en curso")
+    public Response exportCustomers(@QueryParam("country") String country,
+                                    @QueryParam("format") @DefaultValue("ndjson") String format) {
+        final CustomerExportFormat exportFormat = CustomerExportFormat.from(format);
+        final String countryCode = Optional.ofNullable(country)
+                .map(String::toUpperCase)
+                .filter(c -> !c.isBlank())
+                .orElse(null);
+        Log.infof("Received request to export customers of country %s as %s", countryCode, exportFormat);
+
+        StreamingOutput body = out -> {
+            try {
+                customerExporter.exportCustomers(countryCode, exportFormat, out);
+            } catch (BulkheadException e) {
+                throw new ServiceUnavailableException("Too many exports in progress, try again later");
+            }
+        };
+
+        return Response.ok(body, exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + exportFormat.fileName() + "\"")
+                .build();
+    }
+
+    @GET
+    @Path("/search")
+    @Operation(summary = "Buscar clientes",
+            description = "Busca q en el nombre, los apellidos y el email, sin distinguir mayúsculas. Primero el email "
+                    + "exacto, luego los que empiezan por q y después el resto; como mucho limit clientes")
+    @APIResponse(responseCode = "200", description = "Clientes encontrados", content = @Content(
+            schema = @Schema(implementation = CustomerSearchResponse.class)
+    ))
+    @APIResponse(responseCode = "400", description = "Texto de búsqueda demasiado corto o largo, o límite inválido")
+    public Response searchCustomers(@QueryParam("q") String q,
+                                    @QueryParam("limit") @DefaultValue("20") int limit) {
+        final String query = q == null ? "" : q.strip();
+        if (query.length() < MIN_SEARCH_LENGTH || query.length() > MAX_SEARCH_LENGTH) {
+            throw new BadRequestException("Search text must be between " + MIN_SEARCH_LENGTH + " and "
+                    + MAX_SEARCH_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > maxSearchResults) {
+            throw new BadRequestException("Limit must be between 1 and " + maxSearchResults);
+        }
+        Log.infof("Received request to search customers by: %s", query);
+
+        List<CustomerResponse> customers = customerService.searchCustomers(query, limit).stream()
+                .map(CustomerDtoMapper::toDto)
+                .toList();
+
+        return Response.ok(new CustomerSearchResponse(query, limit, customers)).build();
+    }
+
+    @GET
+    @Path("/stats/countries")
+    @Operation(summary = "Obtener el número de clientes por país")
+    @APIResponse(responseCode = "200", description = "Número de clientes de cada país con clientes, ordenado por código de país",
+            content = @Content(schema = @Schema(implementation = CountryCustomerCountResponse.class, type = SchemaType.ARRAY)))
+    public Response getCountryStats() {
+        Log.info("Received request to get customer count per country");
+
+        List<CountryCustomerCountResponse> stats = customerService.getCustomerCountPerCountry().entrySet().stream()
+                .map(entry -> new CountryCustomerCountResponse(entry.getKey(), entry.getValue()))
+                .toList();
+
+        return Response.ok(stats).build();
+    }
+
     @PUT
     @Path("/{id}")
     @Operation(summary = "Actualizar un cliente")
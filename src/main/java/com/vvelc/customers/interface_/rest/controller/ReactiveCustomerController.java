@@ -0,0 +1,51 @@
+package com.vvelc.customers.interface_.rest.controller;
+
+import com.vvelc.customers.application.service.ReactiveCustomerService;
+import com.vvelc.customers.interface_.rest.dto.CustomerResponse;
+import com.vvelc.customers.interface_.rest.mapper.CustomerDtoMapper;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+/**
+ * Ruta caliente de lectura en el event loop (los métodos devuelven {@link Uni}), solo presente al compilar con
+ * {@code ./mvnw package -Dcustomers.reactive.enabled=true}. Responde lo mismo que {@code GET /customers/{id}}
+ * para comparar ambas variantes con la misma carga (ver docs/ADR-002.md).
+ */
+@Tag(name = "Customers (reactive)", description = "Lecturas no bloqueantes para comparar con la API en hilos virtuales")
+@IfBuildProperty(name = "customers.reactive.enabled", stringValue = "true")
+@Path(ReactiveCustomerController.PATH)
+@Produces(MediaType.APPLICATION_JSON)
+public class ReactiveCustomerController {
+
+    public static final String PATH = "/reactive/customers";
+
+    private final ReactiveCustomerService customerService;
+
+    public ReactiveCustomerController(ReactiveCustomerService customerService) {
+        this.customerService = customerService;
+    }
+
+    @GET
+    @Path("/{id}")
+    @Operation(summary = "Obtener un cliente por ID sin bloquear el event loop")
+    @APIResponse(responseCode = "200", description = "Cliente encontrado", content = @Content(
+            schema = @Schema(implementation = CustomerResponse.class)
+    ))
+    @APIResponse(responseCode = "404", description = "Cliente no encontrado")
+    public Uni<CustomerResponse> getById(@PathParam("id") Long id) {
+        Log.info("Received request to get customer by ID: " + id);
+
+        return customerService.getCustomerById(id).map(CustomerDtoMapper::toDto);
+    }
+}
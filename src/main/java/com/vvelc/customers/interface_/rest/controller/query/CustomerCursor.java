@@ -0,0 +1,44 @@
+package com.vvelc.customers.interface_.rest.controller.query;
+
+import com.vvelc.customers.domain.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Opaque keyset pagination token. It encodes the ID of the last customer returned and the country filter
+ * the page was requested with, so a cursor cannot be replayed against a different filter.
+ */
+public record CustomerCursor(long lastId, String country) {
+
+    private static final String SEPARATOR = ":";
+
+    public String encode() {
+        String raw = country == null ? Long.toString(lastId) : lastId + SEPARATOR + country;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()} and checks that it belongs to the requested country.
+     *
+     * @throws BadRequestException if the token is malformed or was issued for another country
+     */
+    public static CustomerCursor decode(String token, String country) throws BadRequestException {
+        CustomerCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            cursor = separator < 0
+                    ? new CustomerCursor(Long.parseLong(raw), null)
+                    : new CustomerCursor(Long.parseLong(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+
+        if (!Objects.equals(cursor.country(), country)) {
+            throw new BadRequestException("Cursor does not match the requested country");
+        }
+        return cursor;
+    }
+}
@@ -27,4 +27,22 @@ public class CustomerQueryParams {
     @Max(100)
     @DefaultValue("10")
     private int size;
+
+    // How total is computed; the configured default (customers.pagination.total-mode) when absent
+    @QueryParam("total")
+    @Pattern(regexp = "^(exact|estimated|cached|none)$", message = "Total must be 'exact', 'estimated', 'cached' or 'none'")
+    private String total;
+
+    @QueryParam("pagination")
+    @Pattern(regexp = "^(offset|cursor)$", message = "Pagination must be 'offset' or 'cursor'")
+    @DefaultValue("offset")
+    private String pagination;
+
+    // Token returned as nextCursor by the previous page; implies cursor pagination
+    @QueryParam("cursor")
+    private String cursor;
+
+    public boolean isCursorPagination() {
+        return cursor != null || "cursor".equals(pagination);
+    }
 }
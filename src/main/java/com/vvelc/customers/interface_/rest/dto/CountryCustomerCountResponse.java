@@ -0,0 +1,7 @@
+package com.vvelc.customers.interface_.rest.dto;
+
+public record CountryCustomerCountResponse(
+        String country,
+        long customers
+) {
+}
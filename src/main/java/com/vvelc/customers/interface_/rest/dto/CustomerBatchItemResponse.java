@@ -0,0 +1,9 @@
+package com.vvelc.customers.interface_.rest.dto;
+
+public record CustomerBatchItemResponse(
+        int index,
+        String status,
+        CustomerResponse customer,
+        String error
+) {
+}
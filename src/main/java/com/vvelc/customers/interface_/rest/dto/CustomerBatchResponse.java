@@ -0,0 +1,11 @@
+package com.vvelc.customers.interface_.rest.dto;
+
+import java.util.List;
+
+public record CustomerBatchResponse(
+        long created,
+        long conflicts,
+        long invalid,
+        List<CustomerBatchItemResponse> items
+) {
+}
@@ -0,0 +1,8 @@
+package com.vvelc.customers.interface_.rest.dto;
+
+public record CustomerImportErrorResponse(
+        long line,
+        String status,
+        String error
+) {
+}
@@ -0,0 +1,16 @@
+package com.vvelc.customers.interface_.rest.dto;
+
+import java.util.List;
+
+public record CustomerImportResponse(
+        long lines,
+        long created,
+        long conflicts,
+        long invalid,
+        long failed,
+        int chunks,
+        List<CustomerImportErrorResponse> errors,
+        boolean errorsTruncated,
+        String stopReason
+) {
+}
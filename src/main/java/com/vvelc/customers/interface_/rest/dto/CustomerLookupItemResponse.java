@@ -0,0 +1,8 @@
+package com.vvelc.customers.interface_.rest.dto;
+
+public record CustomerLookupItemResponse(
+        Long id,
+        String status,
+        CustomerResponse customer
+) {
+}
@@ -1,6 +1,7 @@
 package com.vvelc.customers.interface_.rest.dto;
 
 import com.vvelc.customers.application.model.PageResponse;
+import com.vvelc.customers.application.model.TotalMode;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -13,4 +14,6 @@ public class CustomerPageResponse extends PageResponse<CustomerResponse> {
     int page;
     int size;
     Long total;
+    TotalMode totalMode;
+    String nextCursor;
 }
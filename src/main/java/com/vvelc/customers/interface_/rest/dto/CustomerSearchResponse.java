@@ -0,0 +1,10 @@
+package com.vvelc.customers.interface_.rest.dto;
+
+import java.util.List;
+
+public record CustomerSearchResponse(
+        String query,
+        int limit,
+        List<CustomerResponse> items
+) {
+}
@@ -0,0 +1,66 @@
+package com.vvelc.customers.interface_.rest.exporter;
+
+import com.vvelc.customers.domain.model.Customer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a header line and then one customer per line. Values with commas, quotes or line breaks are quoted and
+ * {@code null} values are left empty. The columns use the field names that {@code POST /customers/import} reads.
+ */
+class CsvCustomerExportWriter extends CustomerExportWriter {
+
+    static final String HEADER =
+            "id,firstName,secondName,firstLastName,secondLastName,email,address,phone,country,demonym";
+
+    private final Writer out;
+
+    CsvCustomerExportWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            this.out.write(HEADER);
+            this.out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected void writeCustomer(Customer customer) throws IOException {
+        out.write(String.valueOf(customer.getId()));
+        writeValue(customer.getFirstName());
+        writeValue(customer.getSecondName());
+        writeValue(customer.getFirstLastName());
+        writeValue(customer.getSecondLastName());
+        writeValue(customer.getEmail());
+        writeValue(customer.getAddress());
+        writeValue(customer.getPhone());
+        writeValue(customer.getCountry());
+        writeValue(customer.getDemonym());
+        out.write('\n');
+    }
+
+    private void writeValue(String value) throws IOException {
+        out.write(',');
+        if (value == null) return;
+
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,49 @@
+package com.vvelc.customers.interface_.rest.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelc.customers.domain.exception.BadRequestException;
+
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Body formats produced by {@code GET /customers/export}.
+ */
+public enum CustomerExportFormat {
+    NDJSON(CustomerExportFormat.NDJSON_MEDIA_TYPE, "ndjson"),
+    CSV(CustomerExportFormat.CSV_MEDIA_TYPE, "csv");
+
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+
+    private final String mediaType;
+    private final String extension;
+
+    CustomerExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static CustomerExportFormat from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid export format: " + value + ". Expected ndjson or csv");
+        }
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String fileName() {
+        return "customers." + extension;
+    }
+
+    public CustomerExportWriter writer(OutputStream out, ObjectMapper objectMapper) {
+        return switch (this) {
+            case NDJSON -> new NdjsonCustomerExportWriter(out, objectMapper);
+            case CSV -> new CsvCustomerExportWriter(out);
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.vvelc.customers.interface_.rest.exporter;
+
+import com.vvelc.customers.domain.model.Customer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes customers to the response body one at a time, as they are read from the database.
+ * Output is buffered by the writer and flushed when it is closed.
+ */
+public abstract class CustomerExportWriter implements Closeable {
+
+    /**
+     * Writes one customer; an {@link IOException} (e.g. the client went away) is rethrown unchecked so that
+     * it stops the export.
+     */
+    public void write(Customer customer) {
+        try {
+            writeCustomer(customer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write customer " + customer.getId(), e);
+        }
+    }
+
+    protected abstract void writeCustomer(Customer customer) throws IOException;
+}
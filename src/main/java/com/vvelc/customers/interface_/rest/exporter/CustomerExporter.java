@@ -0,0 +1,40 @@
+package com.vvelc.customers.interface_.rest.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelc.customers.application.service.CustomerService;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the customers read by {@link CustomerService#exportCustomers} to a response body.
+ * <p>
+ * An export holds a JDBC connection and a transaction for as long as the client keeps reading (up to
+ * {@code customers.export.transaction-timeout}), so at most {@value #MAX_CONCURRENT_EXPORTS} run at a time
+ * (overridable with
+ * {@code com.vvelc.customers.interface_.rest.exporter.CustomerExporter/exportCustomers/Bulkhead/value});
+ * further exports fail with a {@link org.eclipse.microprofile.faulttolerance.exceptions.BulkheadException} before
+ * anything is written, instead of taking connections from the rest of the API.
+ */
+@ApplicationScoped
+public class CustomerExporter {
+
+    static final int MAX_CONCURRENT_EXPORTS = 2;
+
+    private final CustomerService customerService;
+    private final ObjectMapper objectMapper;
+
+    public CustomerExporter(CustomerService customerService, ObjectMapper objectMapper) {
+        this.customerService = customerService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Bulkhead(MAX_CONCURRENT_EXPORTS)
+    public long exportCustomers(String country, CustomerExportFormat format, OutputStream out) throws IOException {
+        try (CustomerExportWriter writer = format.writer(out, objectMapper)) {
+            return customerService.exportCustomers(country, writer::write);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.vvelc.customers.interface_.rest.exporter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.interface_.rest.dto.CustomerResponse;
+import com.vvelc.customers.interface_.rest.mapper.CustomerDtoMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes one {@link CustomerResponse} JSON object per line through a single generator, without flushing per row.
+ */
+class NdjsonCustomerExportWriter extends CustomerExportWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+
+    NdjsonCustomerExportWriter(OutputStream out, ObjectMapper objectMapper) {
+        try {
+            this.generator = objectMapper.getFactory().createGenerator(out)
+                    .setRootValueSeparator(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.writer = objectMapper.writerFor(CustomerResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    protected void writeCustomer(Customer customer) throws IOException {
+        writer.writeValue(generator, CustomerDtoMapper.toDto(customer));
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,74 @@
+package com.vvelc.customers.interface_.rest.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelc.customers.infrastructure.adapter.cache.CustomerByIdCache;
+import com.vvelc.customers.interface_.rest.controller.CacheableCustomerJson;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+import java.util.Optional;
+
+/**
+ * JSON mode of {@link CustomerByIdCache}: serves {@link CacheableCustomerJson} endpoints from the serialised
+ * response of an earlier request, so hot customers skip both the database and Jackson, and caches the response
+ * of a miss once it has been serialised. Inactive in {@code object} mode or with the cache disabled.
+ */
+@Provider
+@CacheableCustomerJson
+public class CustomerJsonCacheFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    // Generation of the id before the endpoint read the customer, see CustomerByIdCache#generation
+    private static final String GENERATION = CustomerJsonCacheFilter.class.getName() + ".generation";
+
+    private final CustomerByIdCache cache;
+    private final ObjectMapper objectMapper;
+
+    public CustomerJsonCacheFilter(CustomerByIdCache cache, ObjectMapper objectMapper) {
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        Optional<Long> id = customerId(request);
+        if (id.isEmpty()) return;
+
+        Optional<byte[]> cached = cache.getJson(id.get());
+        if (cached.isPresent()) {
+            request.abortWith(Response.ok(cached.get(), MediaType.APPLICATION_JSON_TYPE).build());
+        } else {
+            request.setProperty(GENERATION, cache.generation(id.get()));
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        // A byte[] entity is a response served from the cache
+        if (response.getStatus() != Response.Status.OK.getStatusCode() || response.getEntity() instanceof byte[]) return;
+
+        Optional<Long> id = customerId(request);
+        if (id.isEmpty() || !(request.getProperty(GENERATION) instanceof Long generation)) return;
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response.getEntity());
+            cache.putJson(id.get(), json, generation);
+            response.setEntity(json, response.getEntityAnnotations(), MediaType.APPLICATION_JSON_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise customer " + id.get(), e);
+        }
+    }
+
+    private Optional<Long> customerId(ContainerRequestContext request) {
+        if (!cache.caches(CustomerByIdCache.Mode.JSON)) return Optional.empty();
+        try {
+            return Optional.of(Long.valueOf(request.getUriInfo().getPathParameters().getFirst("id")));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
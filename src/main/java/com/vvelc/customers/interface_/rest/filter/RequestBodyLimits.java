@@ -0,0 +1,61 @@
+package com.vvelc.customers.interface_.rest.filter;
+
+import com.vvelc.customers.interface_.rest.controller.CustomerController;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.quarkus.vertx.http.runtime.RouteConstants;
+import io.quarkus.vertx.http.runtime.VertxHttpRecorder;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Body size limit per route. Quarkus only has a global one ({@code quarkus.http.limits.max-body-size}), which is
+ * set to the largest import ({@code customers.import.max-size}); this handler runs right after it and brings every
+ * other route back down to {@code customers.http.max-body-size}.
+ * <p>
+ * The import route ({@value #IMPORT_PATH}) keeps the global limit for bodies that declare their length, and has no
+ * limit for chunked bodies: the importer streams them and stops reading at {@code customers.import.max-size} itself,
+ * answering with a summary of what it imported instead of an aborted upload.
+ */
+@ApplicationScoped
+public class RequestBodyLimits {
+
+    static final String IMPORT_PATH = CustomerController.PATH + "/import";
+
+    private final long maxBodySize;
+
+    public RequestBodyLimits(@ConfigProperty(name = "customers.http.max-body-size", defaultValue = "10M") MemorySize maxBodySize) {
+        this.maxBodySize = maxBodySize.asLongValue();
+    }
+
+    void register(@Observes Router router) {
+        router.route().order(RouteConstants.ROUTE_ORDER_UPLOAD_LIMIT + 1).handler(this::limit);
+    }
+
+    private void limit(RoutingContext context) {
+        if (IMPORT_PATH.equals(context.normalizedPath())) {
+            context.remove(VertxHttpRecorder.MAX_REQUEST_SIZE_KEY);
+            context.next();
+            return;
+        }
+
+        String contentLength = context.request().getHeader(HttpHeaderNames.CONTENT_LENGTH);
+        if (contentLength != null && Long.parseLong(contentLength) > maxBodySize) {
+            // Same as Quarkus: the body is not read, so the connection cannot be reused
+            context.response()
+                    .putHeader(HttpHeaderNames.CONNECTION, "close")
+                    .setStatusCode(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code())
+                    .endHandler(ignored -> context.request().connection().close())
+                    .end();
+            return;
+        }
+
+        // Checked while the body is read (chunked bodies, which declare no length)
+        context.put(VertxHttpRecorder.MAX_REQUEST_SIZE_KEY, maxBodySize);
+        context.next();
+    }
+}
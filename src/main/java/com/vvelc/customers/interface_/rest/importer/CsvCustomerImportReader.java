@@ -0,0 +1,99 @@
+package com.vvelc.customers.interface_.rest.importer;
+
+import com.vvelc.customers.domain.exception.BadRequestException;
+import com.vvelc.customers.interface_.rest.dto.CustomerCreateRequest;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads customers from CSV. The first non-blank line is the header, naming the {@link CustomerCreateRequest}
+ * fields in any order; missing columns and empty values are read as {@code null}. The {@code id} and
+ * {@code demonym} columns of an export are ignored. Values may be quoted
+ * ({@code "Street 1, Apt 2"}, with {@code ""} for a quote) but cannot span lines.
+ */
+class CsvCustomerImportReader extends CustomerImportReader {
+
+    static final List<String> COLUMNS = List.of(
+            "firstName", "secondName", "firstLastName", "secondLastName", "email", "address", "phone", "country");
+    static final Set<String> IGNORED_COLUMNS = Set.of("id", "demonym");
+
+    private int[] columnIndexes;
+
+    CsvCustomerImportReader(InputStream body, long maxBytes, long maxLines) {
+        super(body, maxBytes, maxLines);
+    }
+
+    @Override
+    protected Row parse(long lineNumber, String line) {
+        List<String> values = split(line);
+        if (values == null) return Row.invalid(lineNumber, "Unterminated quoted value");
+
+        if (columnIndexes == null) {
+            readHeader(values);
+            return null;
+        }
+
+        String[] fields = new String[COLUMNS.size()];
+        for (int i = 0; i < fields.length; i++) {
+            int index = columnIndexes[i];
+            String value = index < 0 || index >= values.size() ? null : values.get(index);
+            fields[i] = value == null || value.isEmpty() ? null : value;
+        }
+
+        return Row.of(lineNumber, new CustomerCreateRequest(
+                fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6], fields[7]));
+    }
+
+    private void readHeader(List<String> header) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).strip();
+            if (IGNORED_COLUMNS.contains(column)) continue;
+            if (!COLUMNS.contains(column)) {
+                throw new BadRequestException("Unknown CSV column: " + column + ". Expected columns: " + COLUMNS);
+            }
+            positions.put(column, i);
+        }
+
+        columnIndexes = COLUMNS.stream()
+                .mapToInt(column -> positions.getOrDefault(column, -1))
+                .toArray();
+    }
+
+    // Returns null when a quoted value is not closed before the end of the line
+    static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) return null;
+
+        values.add(value.toString());
+        return values;
+    }
+}
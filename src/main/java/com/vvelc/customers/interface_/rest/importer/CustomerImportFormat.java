@@ -0,0 +1,23 @@
+package com.vvelc.customers.interface_.rest.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+
+/**
+ * Body formats accepted by {@code POST /customers/import}.
+ */
+public enum CustomerImportFormat {
+    NDJSON,
+    CSV;
+
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+
+    CustomerImportReader reader(InputStream body, long maxBytes, long maxLines, ObjectMapper objectMapper) {
+        return switch (this) {
+            case NDJSON -> new NdjsonCustomerImportReader(body, maxBytes, maxLines, objectMapper);
+            case CSV -> new CsvCustomerImportReader(body, maxBytes, maxLines);
+        };
+    }
+}
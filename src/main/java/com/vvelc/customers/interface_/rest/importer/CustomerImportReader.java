@@ -0,0 +1,117 @@
+package com.vvelc.customers.interface_.rest.importer;
+
+import com.vvelc.customers.interface_.rest.dto.CustomerCreateRequest;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads an import body one line at a time, straight from the request stream, so only the current line is held in
+ * memory whatever the size of the body. Lines are decoded as UTF-8. Lines longer than {@value #MAX_LINE_LENGTH}
+ * bytes are skipped and reported as invalid rows instead of being buffered. Blank lines are ignored.
+ * <p>
+ * Reading stops once the body goes past {@code maxBytes} bytes or {@code maxLines} lines; {@link #next()} then
+ * returns {@code null} as at the end of the body and {@link #limitExceeded()} says which limit was hit. The line
+ * being read when the byte limit is reached is dropped.
+ */
+public abstract class CustomerImportReader {
+
+    static final int MAX_LINE_LENGTH = 8192;
+
+    private final InputStream body;
+    private final long maxBytes;
+    private final long maxLines;
+    private final byte[] line = new byte[MAX_LINE_LENGTH];
+    private int lineLength;
+    private long bytesRead;
+    private long lineNumber;
+    private boolean lineTooLong;
+    private boolean endOfInput;
+    private String limitExceeded;
+
+    protected CustomerImportReader(InputStream body, long maxBytes, long maxLines) {
+        this.body = new BufferedInputStream(body);
+        this.maxBytes = maxBytes;
+        this.maxLines = maxLines;
+    }
+
+    /**
+     * Returns the next row of the body, or {@code null} once it has been fully read or a limit was exceeded.
+     */
+    public Row next() {
+        String text;
+        while ((text = readLine()) != null) {
+            if (lineTooLong) return Row.invalid(lineNumber, "Line exceeds " + MAX_LINE_LENGTH + " bytes");
+            if (text.isBlank()) continue;
+
+            Row row = parse(lineNumber, text);
+            if (row != null) return row;
+        }
+        return null;
+    }
+
+    /**
+     * Returns why reading stopped before the end of the body, or {@code null} if it did not.
+     */
+    public String limitExceeded() {
+        return limitExceeded;
+    }
+
+    /**
+     * Parses one non-blank line; returns {@code null} if the line holds no customer (e.g. a CSV header).
+     */
+    protected abstract Row parse(long lineNumber, String line);
+
+    private String readLine() {
+        if (endOfInput) return null;
+
+        lineLength = 0;
+        lineTooLong = false;
+        try {
+            int c = body.read();
+            if (c != -1 && lineNumber == maxLines) {
+                return stop("Body exceeds " + maxLines + " lines");
+            }
+            for (; c != -1; c = body.read()) {
+                if (++bytesRead > maxBytes) return stop("Body exceeds " + maxBytes + " bytes");
+                if (c == '\n') break;
+                if (lineLength < MAX_LINE_LENGTH) line[lineLength++] = (byte) c;
+                else lineTooLong = true;
+            }
+            if (c == -1) {
+                endOfInput = true;
+                if (lineLength == 0 && !lineTooLong) return null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read import body", e);
+        }
+        lineNumber++;
+
+        int end = lineLength;
+        if (end > 0 && line[end - 1] == '\r') end--;
+        return new String(line, 0, end, StandardCharsets.UTF_8);
+    }
+
+    private String stop(String reason) {
+        endOfInput = true;
+        limitExceeded = reason + "; stopped after line " + lineNumber;
+        return null;
+    }
+
+    /**
+     * A customer read from line {@code line}, or the reason it could not be read.
+     */
+    public record Row(long line, CustomerCreateRequest request, String error) {
+
+        static Row of(long line, CustomerCreateRequest request) {
+            return new Row(line, request, null);
+        }
+
+        static Row invalid(long line, String error) {
+            return new Row(line, null, error);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.vvelc.customers.interface_.rest.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelc.customers.application.model.CustomerBatchResult;
+import com.vvelc.customers.application.service.CustomerService;
+import com.vvelc.customers.domain.exception.CountryServiceException;
+import com.vvelc.customers.interface_.rest.dto.CustomerCreateRequest;
+import com.vvelc.customers.interface_.rest.dto.CustomerImportErrorResponse;
+import com.vvelc.customers.interface_.rest.dto.CustomerImportResponse;
+import com.vvelc.customers.interface_.rest.mapper.CustomerDtoMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.configuration.MemorySize;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.faulttolerance.Bulkhead;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports customers from a streamed NDJSON or CSV body. Rows are read one at a time and created in chunks of
+ * {@code customers.import.chunk-size} through {@link CustomerService#createCustomers}, each chunk in its own
+ * transaction, so memory does not grow with the size of the body and committed chunks stay committed if the import
+ * fails later on. An email registered concurrently only affects its own row, which is reported as a conflict (see
+ * {@link CustomerService#createCustomers}). A chunk that cannot be created because the country API is down is
+ * rolled back and its rows are reported as failed; the import goes on with the next chunk and always returns a
+ * summary. Only the first {@code customers.import.max-errors} rows with errors are reported individually.
+ * <p>
+ * The body is limited here rather than by the HTTP layer, which would abort the upload with a 413 and no summary (the
+ * import route is exempt from {@code customers.http.max-body-size}, see
+ * {@link com.vvelc.customers.interface_.rest.filter.RequestBodyLimits}): reading stops after
+ * {@code customers.import.max-size} bytes or {@code customers.import.max-lines} lines, the customers read until
+ * then are still created, and the response says where the import stopped.
+ * <p>
+ * An import holds a worker thread for as long as the client keeps sending, so at most {@value #MAX_CONCURRENT_IMPORTS}
+ * run at a time (overridable with
+ * {@code com.vvelc.customers.interface_.rest.importer.CustomerImporter/importCustomers/Bulkhead/value}); further
+ * imports fail with a {@link org.eclipse.microprofile.faulttolerance.exceptions.BulkheadException} instead of taking
+ * threads from the rest of the API.
+ */
+@ApplicationScoped
+public class CustomerImporter {
+
+    static final int MAX_CONCURRENT_IMPORTS = 2;
+
+    private static final String FAILED = "failed";
+
+    private final CustomerService customerService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final long maxBytes;
+    private final long maxLines;
+
+    public CustomerImporter(
+            CustomerService customerService,
+            Validator validator,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @ConfigProperty(name = "customers.import.chunk-size", defaultValue = "500") int chunkSize,
+            @ConfigProperty(name = "customers.import.max-errors", defaultValue = "100") int maxErrors,
+            @ConfigProperty(name = "customers.import.max-size", defaultValue = "8M") MemorySize maxSize,
+            @ConfigProperty(name = "customers.import.max-lines", defaultValue = "1000000") long maxLines
+    ) {
+        this.customerService = customerService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.maxBytes = maxSize.asLongValue();
+        this.maxLines = maxLines;
+    }
+
+    @Bulkhead(MAX_CONCURRENT_IMPORTS)
+    public CustomerImportResponse importCustomers(InputStream body, CustomerImportFormat format) {
+        CustomerImportReader reader = format.reader(body, maxBytes, maxLines, objectMapper);
+        Summary summary = new Summary();
+        List<CustomerImportReader.Row> chunk = new ArrayList<>(chunkSize);
+
+        CustomerImportReader.Row row;
+        while ((row = reader.next()) != null) {
+            summary.lines = row.line();
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                summary.record(row.line(), CustomerBatchResult.invalid(error));
+                continue;
+            }
+
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                createChunk(chunk, summary);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) createChunk(chunk, summary);
+
+        summary.stopReason = reader.limitExceeded();
+        if (summary.stopReason != null) Log.warnf("Import of %s stopped early: %s", format, summary.stopReason);
+
+        Log.infof("Imported %s customers: %d lines, %d created, %d conflicts, %d invalid, %d failed",
+                format, summary.lines, summary.created, summary.conflicts, summary.invalid, summary.failed);
+        return summary.toResponse();
+    }
+
+    private String validate(CustomerCreateRequest request) {
+        Set<ConstraintViolation<CustomerCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) return null;
+
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void createChunk(List<CustomerImportReader.Row> chunk, Summary summary) {
+        List<CustomerBatchResult> results;
+        try {
+            results = customerService.createCustomers(chunk.stream()
+                    .map(row -> CustomerDtoMapper.toDomain(row.request()))
+                    .toList());
+        } catch (CountryServiceException e) {
+            Log.warnf("Import chunk failed up to line %d, continuing with the next one: %s", summary.lines, e.getMessage());
+            for (CustomerImportReader.Row row : chunk) {
+                summary.recordFailure(row.line(), "Chunk not created: " + e.getMessage());
+            }
+            return;
+        }
+        for (int i = 0; i < results.size(); i++) {
+            summary.record(chunk.get(i).line(), results.get(i));
+        }
+        summary.chunks++;
+
+        Log.infof("Import chunk %d committed up to line %d: %d created so far",
+                summary.chunks, summary.lines, summary.created);
+    }
+
+    private class Summary {
+        long lines;
+        long created;
+        long conflicts;
+        long invalid;
+        long failed;
+        int chunks;
+        final List<CustomerImportErrorResponse> errors = new ArrayList<>();
+        boolean errorsTruncated;
+        String stopReason;
+
+        void record(long line, CustomerBatchResult result) {
+            switch (result.status()) {
+                case CREATED -> created++;
+                case CONFLICT -> conflicts++;
+                case INVALID -> invalid++;
+            }
+            meterRegistry.counter("customers.imported", "status", status(result)).increment();
+
+            if (result.status() != CustomerBatchResult.Status.CREATED) addError(line, status(result), result.error());
+        }
+
+        void recordFailure(long line, String error) {
+            failed++;
+            meterRegistry.counter("customers.imported", "status", FAILED).increment();
+            addError(line, FAILED, error);
+        }
+
+        private void addError(long line, String status, String error) {
+            if (errors.size() < maxErrors) {
+                errors.add(new CustomerImportErrorResponse(line, status, error));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        CustomerImportResponse toResponse() {
+            return new CustomerImportResponse(
+                    lines, created, conflicts, invalid, failed, chunks, errors, errorsTruncated, stopReason);
+        }
+
+        private static String status(CustomerBatchResult result) {
+            return result.status().name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
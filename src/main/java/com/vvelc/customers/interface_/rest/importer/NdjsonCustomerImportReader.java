@@ -0,0 +1,32 @@
+package com.vvelc.customers.interface_.rest.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelc.customers.interface_.rest.dto.CustomerCreateRequest;
+
+import java.io.InputStream;
+
+/**
+ * Reads one {@link CustomerCreateRequest} JSON object per line.
+ */
+class NdjsonCustomerImportReader extends CustomerImportReader {
+
+    private final ObjectMapper objectMapper;
+
+    NdjsonCustomerImportReader(InputStream body, long maxBytes, long maxLines, ObjectMapper objectMapper) {
+        super(body, maxBytes, maxLines);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected Row parse(long lineNumber, String line) {
+        try {
+            CustomerCreateRequest request = objectMapper.readValue(line, CustomerCreateRequest.class);
+            if (request == null) return Row.invalid(lineNumber, "Customer is required");
+
+            return Row.of(lineNumber, request);
+        } catch (JsonProcessingException e) {
+            return Row.invalid(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+}
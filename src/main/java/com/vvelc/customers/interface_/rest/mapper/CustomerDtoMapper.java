@@ -1,10 +1,16 @@
 package com.vvelc.customers.interface_.rest.mapper;
 
+import com.vvelc.customers.application.model.CustomerBatchResult;
 import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.interface_.rest.dto.CustomerBatchItemResponse;
 import com.vvelc.customers.interface_.rest.dto.CustomerCreateRequest;
+import com.vvelc.customers.interface_.rest.dto.CustomerLookupItemResponse;
 import com.vvelc.customers.interface_.rest.dto.CustomerResponse;
 import com.vvelc.customers.interface_.rest.dto.CustomerUpdateRequest;
 
+import java.util.Locale;
+import java.util.Optional;
+
 public class CustomerDtoMapper {
     private CustomerDtoMapper() {
         throw new UnsupportedOperationException("Utility class");
@@ -54,4 +60,21 @@ public class CustomerDtoMapper {
                 customer.getDemonym()
         );
     }
+
+    public static CustomerBatchItemResponse toDto(int index, CustomerBatchResult result) {
+        return new CustomerBatchItemResponse(
+                index,
+                result.status().name().toLowerCase(Locale.ROOT),
+                result.customer() == null ? null : toDto(result.customer()),
+                result.error()
+        );
+    }
+
+    public static CustomerLookupItemResponse toDto(Long id, Optional<Customer> customer) {
+        return new CustomerLookupItemResponse(
+                id,
+                customer.isPresent() ? "found" : "not_found",
+                customer.map(CustomerDtoMapper::toDto).orElse(null)
+        );
+    }
 }
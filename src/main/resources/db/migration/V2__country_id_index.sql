@@ -0,0 +1,4 @@
+-- Keyset pagination by country (WHERE country = ? AND id > ? ORDER BY id) reads this index in order.
+-- It also covers every lookup the single-column country index served.
+CREATE INDEX idx_customer_country_id ON customers(country, id);
+DROP INDEX idx_customer_country;
@@ -0,0 +1,9 @@
+-- Number of customers per country, maintained by the application on every insert, update and delete
+-- so that counts and the per-country histogram do not scan the customers table.
+CREATE TABLE customer_country_stats (
+    country VARCHAR(50) PRIMARY KEY,
+    customer_count BIGINT NOT NULL
+);
+
+INSERT INTO customer_country_stats (country, customer_count)
+SELECT country, COUNT(*) FROM customers GROUP BY country;
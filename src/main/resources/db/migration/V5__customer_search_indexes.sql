@@ -0,0 +1,20 @@
+-- GET /customers/search looks a term up in the names and the email, ignoring case, in three bounded steps: the
+-- exact email, then a prefix of any of those fields, then any other match. Every step is an index scan:
+--   * lower(column) LIKE 'term%' (and the exact email) is served by a B-tree with text_pattern_ops, which supports
+--     left-anchored patterns whatever the collation of the database;
+--   * lower(column) LIKE '%term%' cannot use a B-tree; a GIN index over trigrams serves it, for terms of 3 or more
+--     characters (the minimum the API accepts).
+-- The indexes are on lower(column) so that they match the expressions of the query. They are built CONCURRENTLY so
+-- that migrating a populated table does not block writes to it. CONCURRENTLY cannot run inside a transaction (see
+-- V5__customer_search_indexes.sql.conf) and waits for every open one (see FlywaySessionLockCustomizer).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY idx_customers_first_name_prefix ON customers (lower(first_name) text_pattern_ops);
+CREATE INDEX CONCURRENTLY idx_customers_first_last_name_prefix ON customers (lower(first_last_name) text_pattern_ops);
+CREATE INDEX CONCURRENTLY idx_customers_second_last_name_prefix ON customers (lower(second_last_name) text_pattern_ops);
+CREATE INDEX CONCURRENTLY idx_customers_email_prefix ON customers (lower(email) text_pattern_ops);
+
+CREATE INDEX CONCURRENTLY idx_customers_first_name_trgm ON customers USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY idx_customers_first_last_name_trgm ON customers USING gin (lower(first_last_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY idx_customers_second_last_name_trgm ON customers USING gin (lower(second_last_name) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY idx_customers_email_trgm ON customers USING gin (lower(email) gin_trgm_ops);
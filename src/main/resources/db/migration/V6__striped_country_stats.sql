@@ -0,0 +1,6 @@
+-- Every country counter is spread over several rows (slots). A write updates one slot picked at random, so
+-- concurrent writes for the same country lock different rows instead of queueing on one until commit; reads sum
+-- the slots. Existing counters become slot 0.
+ALTER TABLE customer_country_stats ADD COLUMN slot INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE customer_country_stats DROP CONSTRAINT customer_country_stats_pkey;
+ALTER TABLE customer_country_stats ADD PRIMARY KEY (country, slot);
@@ -1,22 +1,33 @@
 package com.vvelc.customers.application.service;
 
 import com.vvelc.customers.application.model.CountryInfo;
+import com.vvelc.customers.application.model.CustomerBatchResult;
+import com.vvelc.customers.application.model.KeysetPageRequest;
+import com.vvelc.customers.application.model.KeysetPageResponse;
 import com.vvelc.customers.application.model.PageRequest;
 import com.vvelc.customers.application.model.PageResponse;
+import com.vvelc.customers.application.model.PageTotal;
+import com.vvelc.customers.application.model.TotalMode;
+import com.vvelc.customers.application.port.outbound.CustomerCountPort;
 import com.vvelc.customers.domain.exception.*;
 import com.vvelc.customers.domain.model.Customer;
 import com.vvelc.customers.domain.repository.CustomerRepository;
 import com.vvelc.customers.application.port.outbound.CountryValidationPort;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,12 +40,25 @@ class CustomerServiceTest {
     @Mock
     CountryValidationPort countryValidationPort;
 
-    @InjectMocks
+    @Mock
+    CustomerCountPort customerCountPort;
+
+    ExecutorService countryLookupExecutor;
+
     CustomerService service;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        countryLookupExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        service = new CustomerService(customerRepository, countryValidationPort, new CustomerWriter(customerRepository),
+                customerCountPort, countryLookupExecutor);
+        when(customerCountPort.count(any(), any())).thenReturn(new PageTotal(1L, TotalMode.EXACT));
+    }
+
+    @AfterEach
+    void shutdown() {
+        countryLookupExecutor.shutdownNow();
     }
 
     @Nested
@@ -55,7 +79,6 @@ class CustomerServiceTest {
                     "john@mail.com", "123 Street #1", "8091231234", "US", "American"
             );
 
-            when(customerRepository.existsByEmail(input.getEmail())).thenReturn(false);
             when(countryValidationPort.findByIsoCode("US")).thenReturn(countryInfo);
             when(customerRepository.save(any())).thenReturn(saved);
 
@@ -72,19 +95,18 @@ class CustomerServiceTest {
         void should_throw_when_email_already_exists() {
             Customer customer = new Customer(null, "John", null, "Doe", null, "john@mail.com", null, null, "US", null);
             when(countryValidationPort.findByIsoCode("US")).thenReturn(new CountryInfo("US", "United States", "American"));
-            when(customerRepository.existsByEmail("john@mail.com")).thenReturn(true);
+            when(customerRepository.save(any())).thenThrow(new CustomerAlreadyExistsException("Email already registered: john@mail.com"));
 
             assertThatThrownBy(() -> service.createCustomer(customer))
                     .isInstanceOf(CustomerAlreadyExistsException.class);
 
-            verify(customerRepository, never()).save(any());
+            verify(customerRepository, never()).existsByEmail(any());
         }
 
         @Test
         void should_throw_when_country_not_found() {
             Customer customer = new Customer(null, "John", null, "Doe", null, "john@mail.com", null, null, "ZZ", null);
 
-            when(customerRepository.existsByEmail(customer.getEmail())).thenReturn(false);
             when(countryValidationPort.findByIsoCode("ZZ")).thenThrow(new CountryNotFoundException("ZZ"));
 
             assertThatThrownBy(() -> service.createCustomer(customer))
@@ -95,7 +117,6 @@ class CustomerServiceTest {
         void should_throw_when_country_service_fails_on_create() {
             Customer customer = new Customer(null, "John", null, "Doe", null, "john@mail.com", null, null, "US", null);
 
-            when(customerRepository.existsByEmail(customer.getEmail())).thenReturn(false);
             when(countryValidationPort.findByIsoCode("US")).thenThrow(new CountryServiceException("API down"));
 
             assertThatThrownBy(() -> service.createCustomer(customer))
@@ -106,6 +127,79 @@ class CustomerServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("createCustomers")
+    class CreateCustomersTests {
+
+        @Test
+        void should_validate_each_country_once_and_report_every_item() {
+            Customer john = new Customer(null, "John", null, "Doe", null, "john@mail.com", "Street 1", "8091231234", "US", null);
+            Customer jane = new Customer(null, "Jane", null, "Doe", null, "jane@mail.com", "Street 2", "8091231234", "US", null);
+            Customer taken = new Customer(null, "Tom", null, "Doe", null, "taken@mail.com", "Street 3", "8091231234", "US", null);
+            Customer repeated = new Customer(null, "Jim", null, "Doe", null, "john@mail.com", "Street 4", "8091231234", "US", null);
+            Customer unknown = new Customer(null, "Ann", null, "Doe", null, "ann@mail.com", "Street 5", "8091231234", "XX", null);
+
+            when(countryValidationPort.findByIsoCode("US")).thenReturn(new CountryInfo("US", "United States", "American"));
+            when(countryValidationPort.findByIsoCode("XX")).thenThrow(new CountryNotFoundException("Country not found: XX"));
+            when(customerRepository.findExistingEmails(List.of("john@mail.com", "jane@mail.com", "taken@mail.com")))
+                    .thenReturn(Set.of("taken@mail.com"));
+            when(customerRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Customer> customers = invocation.getArgument(0);
+                long id = 1;
+                for (Customer customer : customers) customer.setId(id++);
+                return customers;
+            });
+
+            List<CustomerBatchResult> results = service.createCustomers(List.of(john, jane, taken, repeated, unknown));
+
+            assertThat(results).extracting(CustomerBatchResult::status).containsExactly(
+                    CustomerBatchResult.Status.CREATED,
+                    CustomerBatchResult.Status.CREATED,
+                    CustomerBatchResult.Status.CONFLICT,
+                    CustomerBatchResult.Status.CONFLICT,
+                    CustomerBatchResult.Status.INVALID
+            );
+            assertThat(results.get(1).customer().getId()).isEqualTo(2L);
+            assertThat(results.get(1).customer().getDemonym()).isEqualTo("American");
+            verify(countryValidationPort, times(1)).findByIsoCode("US");
+            verify(customerRepository).saveAll(List.of(john, jane));
+            verify(customerRepository, never()).existsByEmail(any());
+        }
+
+        @Test
+        void should_insert_one_by_one_when_an_email_was_registered_concurrently() {
+            Customer john = new Customer(null, "John", null, "Doe", null, "john@mail.com", "Street 1", "8091231234", "US", null);
+            Customer jane = new Customer(null, "Jane", null, "Doe", null, "jane@mail.com", "Street 2", "8091231234", "US", null);
+
+            when(countryValidationPort.findByIsoCode("US")).thenReturn(new CountryInfo("US", "United States", "American"));
+            when(customerRepository.findExistingEmails(anyList())).thenReturn(Set.of());
+            when(customerRepository.saveAll(anyList()))
+                    .thenThrow(new CustomerAlreadyExistsException("Email already registered by a concurrent request"));
+            when(customerRepository.save(john)).thenAnswer(invocation -> {
+                john.setId(1L);
+                return john;
+            });
+            when(customerRepository.save(jane)).thenThrow(new CustomerAlreadyExistsException("Email already registered: jane@mail.com"));
+
+            List<CustomerBatchResult> results = service.createCustomers(List.of(john, jane));
+
+            assertThat(results).extracting(CustomerBatchResult::status)
+                    .containsExactly(CustomerBatchResult.Status.CREATED, CustomerBatchResult.Status.CONFLICT);
+            assertThat(results.get(0).customer().getId()).isEqualTo(1L);
+            assertThat(results.get(1).error()).isEqualTo("Email already registered: jane@mail.com");
+        }
+
+        @Test
+        void should_fail_the_batch_when_country_service_fails() {
+            Customer john = new Customer(null, "John", null, "Doe", null, "john@mail.com", "Street 1", "8091231234", "US", null);
+            when(countryValidationPort.findByIsoCode("US")).thenThrow(new CountryServiceException("API down"));
+
+            assertThatThrownBy(() -> service.createCustomers(List.of(john)))
+                    .isInstanceOf(CountryServiceException.class);
+            verify(customerRepository, never()).saveAll(any());
+        }
+    }
+
     @Nested
     @DisplayName("getCustomer")
     class GetCustomerTests {
@@ -127,6 +221,18 @@ class CustomerServiceTest {
                     .isInstanceOf(CustomerNotFoundException.class);
         }
 
+        @Test
+        void should_get_customers_by_ids_in_request_order() {
+            Customer first = new Customer(1L, "A", null, "B", null, "a@mail.com", null, null, "US", "American");
+            Customer second = new Customer(2L, "C", null, "D", null, "c@mail.com", null, null, "US", "American");
+            when(customerRepository.findAllByIds(Set.of(1L, 2L, 999L))).thenReturn(List.of(first, second));
+
+            List<Optional<Customer>> result = service.getCustomersByIds(List.of(2L, 999L, 1L, 2L));
+
+            assertThat(result).containsExactly(Optional.of(second), Optional.empty(), Optional.of(first), Optional.of(second));
+            verify(customerRepository, times(1)).findAllByIds(any());
+        }
+
         @Test
         void should_get_all_customers() {
             when(customerRepository.findAll(0, 10)).thenReturn(List.of(new Customer()));
@@ -147,6 +253,18 @@ class CustomerServiceTest {
             assertThat(pageCustomers.getItems()).hasSize(1);
         }
 
+        @Test
+        void should_return_total_in_requested_mode() {
+            when(customerRepository.findByCountry("US", 0, 10)).thenReturn(List.of(new Customer()));
+            when(customerCountPort.count("US", TotalMode.CACHED)).thenReturn(new PageTotal(42L, TotalMode.CACHED));
+
+            PageResponse<Customer> customers = service.getCustomersByCountry("US", new PageRequest(0, 10, TotalMode.CACHED));
+
+            assertThat(customers.getTotal()).isEqualTo(42L);
+            assertThat(customers.getTotalMode()).isEqualTo(TotalMode.CACHED);
+            verify(customerRepository, never()).countByCountry(any());
+        }
+
         @Test
         void should_return_empty_list_when_no_customers_found() {
             when(customerRepository.findAll(0, 10)).thenReturn(List.of());
@@ -168,6 +286,34 @@ class CustomerServiceTest {
 
             assertThat(customers.getItems()).isEmpty();
         }
+
+        @Test
+        void should_return_next_cursor_when_more_customers_exist() {
+            Customer c1 = new Customer();
+            c1.setId(5L);
+            Customer c2 = new Customer();
+            c2.setId(7L);
+            Customer c3 = new Customer();
+            c3.setId(9L);
+            when(customerRepository.findAllAfter(3L, 3)).thenReturn(List.of(c1, c2, c3));
+
+            KeysetPageResponse<Customer> customers = service.getAllCustomersAfter(new KeysetPageRequest(3L, 2));
+
+            assertThat(customers.getItems()).containsExactly(c1, c2);
+            assertThat(customers.getNextAfterId()).isEqualTo(7L);
+        }
+
+        @Test
+        void should_not_return_next_cursor_on_last_page() {
+            Customer c1 = new Customer();
+            c1.setId(5L);
+            when(customerRepository.findByCountryAfter("US", null, 3)).thenReturn(List.of(c1));
+
+            KeysetPageResponse<Customer> customers = service.getCustomersByCountryAfter("US", new KeysetPageRequest(null, 2));
+
+            assertThat(customers.getItems()).containsExactly(c1);
+            assertThat(customers.getNextAfterId()).isNull();
+        }
     }
 
     @Nested
@@ -278,6 +424,73 @@ class CustomerServiceTest {
                     .isInstanceOf(CountryServiceException.class)
                     .hasMessageContaining("Timeout");
         }
+
+        @Test
+        void should_read_customer_while_country_is_being_validated() {
+            Customer existing = new Customer(1L, "Jane", null, "Doe", null, "jane@mail.com", null, null, "US", "American");
+            Customer changes = new Customer(null, null, null, null, null, null, null, null, "MX", null);
+            CountDownLatch customerRead = new CountDownLatch(1);
+
+            // The country lookup only completes once the customer has been read, so it must run concurrently
+            when(countryValidationPort.findByIsoCode("MX")).thenAnswer(invocation -> {
+                if (!customerRead.await(5, TimeUnit.SECONDS)) throw new CountryServiceException("Timeout");
+                return new CountryInfo("MX", "Mexico", "Mexican");
+            });
+            when(customerRepository.findById(1L)).thenAnswer(invocation -> {
+                customerRead.countDown();
+                return Optional.of(existing);
+            });
+            when(customerRepository.update(any())).thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
+            Customer result = service.updateCustomer(1L, changes);
+
+            assertThat(result.getCountry()).isEqualTo("MX");
+            assertThat(result.getDemonym()).isEqualTo("Mexican");
+        }
+
+        @Test
+        void should_cancel_country_lookup_when_customer_does_not_exist() throws InterruptedException {
+            Customer customer = new Customer(99L, "X", null, "Y", null, null, null, null, "US", null);
+            CountDownLatch lookupStarted = new CountDownLatch(1);
+            CountDownLatch lookupInterrupted = new CountDownLatch(1);
+
+            when(countryValidationPort.findByIsoCode("US")).thenAnswer(invocation -> {
+                lookupStarted.countDown();
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+                } catch (InterruptedException e) {
+                    lookupInterrupted.countDown();
+                }
+                throw new CountryServiceException("Timeout");
+            });
+            when(customerRepository.findById(99L)).thenAnswer(invocation -> {
+                lookupStarted.await(5, TimeUnit.SECONDS);
+                return Optional.empty();
+            });
+
+            assertThatThrownBy(() -> service.updateCustomer(99L, customer))
+                    .isInstanceOf(CustomerNotFoundException.class);
+            assertThat(lookupInterrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        @Test
+        void should_resolve_country_on_calling_thread_when_it_is_known_locally() {
+            Customer existing = new Customer(1L, "Jane", null, "Doe", null, "jane@mail.com", null, null, "US", "American");
+            Customer changes = new Customer(null, null, null, null, null, null, null, null, "MX", null);
+            Thread caller = Thread.currentThread();
+
+            when(countryValidationPort.resolvesLocally("MX")).thenReturn(true);
+            when(countryValidationPort.findByIsoCode("MX")).thenAnswer(invocation -> {
+                assertThat(Thread.currentThread()).isSameAs(caller);
+                return new CountryInfo("MX", "Mexico", "Mexican");
+            });
+            when(customerRepository.findById(1L)).thenReturn(Optional.of(existing));
+            when(customerRepository.update(any())).thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+
+            Customer result = service.updateCustomer(1L, changes);
+
+            assertThat(result.getDemonym()).isEqualTo("Mexican");
+        }
     }
 
     @Nested
@@ -0,0 +1,98 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import com.vvelc.customers.application.model.CountryInfo;
+import com.vvelc.customers.application.port.outbound.CountryValidationPort;
+import com.vvelc.customers.domain.exception.CountryNotFoundException;
+import com.vvelc.customers.domain.exception.CountryServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingCountryValidationDecoratorTest {
+
+    SimpleMeterRegistry meterRegistry;
+    CountryValidationPort delegate;
+    CachingCountryValidationDecorator decorator;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        delegate = mock(CountryValidationPort.class);
+
+        decorator = new CachingCountryValidationDecorator();
+        decorator.delegate = delegate;
+        decorator.cache = new CountryInfoCache(meterRegistry, 10, Duration.ofHours(1), Duration.ofMinutes(1), true);
+    }
+
+    @Test
+    void should_call_delegate_once_for_repeated_lookups() {
+        when(delegate.findByIsoCode("US")).thenReturn(new CountryInfo("US", "United States", "American"));
+
+        CountryInfo first = decorator.findByIsoCode("US");
+        CountryInfo second = decorator.findByIsoCode("us");
+
+        assertThat(second).isEqualTo(first);
+        verify(delegate, times(1)).findByIsoCode(anyString());
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_resolve_locally_once_the_lookup_is_cached() {
+        when(delegate.findByIsoCode("US")).thenReturn(new CountryInfo("US", "United States", "American"));
+
+        assertThat(decorator.resolvesLocally("US")).isFalse();
+        decorator.findByIsoCode("US");
+
+        assertThat(decorator.resolvesLocally("us")).isTrue();
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isZero();
+    }
+
+    @Test
+    void should_cache_country_not_found() {
+        when(delegate.findByIsoCode("XX")).thenThrow(new CountryNotFoundException("Country not found: XX"));
+
+        assertThatThrownBy(() -> decorator.findByIsoCode("XX"))
+                .isInstanceOf(CountryNotFoundException.class);
+        assertThatThrownBy(() -> decorator.findByIsoCode("XX"))
+                .isInstanceOf(CountryNotFoundException.class)
+                .hasMessage("Country not found: XX");
+
+        verify(delegate, times(1)).findByIsoCode("XX");
+        assertThat(meterRegistry.get("cache.negative.hits").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_not_cache_country_service_errors() {
+        when(delegate.findByIsoCode("DE"))
+                .thenThrow(new CountryServiceException("API down"))
+                .thenReturn(new CountryInfo("DE", "Germany", "German"));
+
+        assertThatThrownBy(() -> decorator.findByIsoCode("DE"))
+                .isInstanceOf(CountryServiceException.class);
+
+        assertThat(decorator.findByIsoCode("DE").demonym()).isEqualTo("German");
+        verify(delegate, times(2)).findByIsoCode("DE");
+    }
+
+    @Test
+    void should_serve_last_known_good_value_when_country_service_fails() {
+        // Entries expire immediately, so every lookup goes to the delegate
+        meterRegistry = new SimpleMeterRegistry();
+        decorator.cache = new CountryInfoCache(meterRegistry, 10, Duration.ZERO, Duration.ZERO, true);
+        CountryInfo germany = new CountryInfo("DE", "Germany", "German");
+        when(delegate.findByIsoCode("DE"))
+                .thenReturn(germany)
+                .thenThrow(new CountryServiceException("Circuit breaker open"));
+
+        assertThat(decorator.findByIsoCode("DE")).isEqualTo(germany);
+        assertThat(decorator.findByIsoCode("DE")).isEqualTo(germany);
+
+        verify(delegate, times(2)).findByIsoCode("DE");
+        assertThat(meterRegistry.get("cache.stale.served").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import com.vvelc.customers.application.model.PageTotal;
+import com.vvelc.customers.application.model.TotalMode;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingCustomerCountAdapterTest {
+
+    static final int CALLERS = 4;
+
+    CustomerRepository customerRepository;
+    SimpleMeterRegistry meterRegistry;
+    CachingCustomerCountAdapter adapter;
+
+    @BeforeEach
+    void setup() {
+        customerRepository = mock(CustomerRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new CachingCustomerCountAdapter(customerRepository, meterRegistry, "exact", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void should_count_exactly_by_default() {
+        when(customerRepository.count()).thenReturn(10L);
+
+        assertThat(adapter.count(null, null)).isEqualTo(new PageTotal(10L, TotalMode.EXACT));
+        assertThat(adapter.count(null, null)).isEqualTo(new PageTotal(10L, TotalMode.EXACT));
+
+        verify(customerRepository, times(2)).count();
+    }
+
+    @Test
+    void should_reuse_cached_count_per_country() {
+        when(customerRepository.countByCountry("US")).thenReturn(3L);
+        when(customerRepository.countByCountry("CA")).thenReturn(2L);
+
+        assertThat(adapter.count("US", TotalMode.CACHED)).isEqualTo(new PageTotal(3L, TotalMode.CACHED));
+        assertThat(adapter.count("US", TotalMode.CACHED)).isEqualTo(new PageTotal(3L, TotalMode.CACHED));
+        assertThat(adapter.count("CA", TotalMode.CACHED)).isEqualTo(new PageTotal(2L, TotalMode.CACHED));
+
+        verify(customerRepository, times(1)).countByCountry("US");
+        verify(customerRepository, times(1)).countByCountry("CA");
+    }
+
+    @Test
+    void should_count_once_for_concurrent_misses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(customerRepository.countByCountry("US")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 3L;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<PageTotal>> totals = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                totals.add(executor.submit(() -> adapter.count("US", TotalMode.CACHED)));
+            }
+            while (meterRegistry.get("singleflight.calls").tag("outcome", "coalesced").counter().count() < CALLERS - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            for (Future<PageTotal> total : totals) {
+                assertThat(total.get(5, TimeUnit.SECONDS)).isEqualTo(new PageTotal(3L, TotalMode.CACHED));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(customerRepository, times(1)).countByCountry("US");
+    }
+
+    @Test
+    void should_estimate_from_database_statistics() {
+        when(customerRepository.estimateCount()).thenReturn(Optional.of(1_000_000L));
+
+        assertThat(adapter.count(null, TotalMode.ESTIMATED)).isEqualTo(new PageTotal(1_000_000L, TotalMode.ESTIMATED));
+
+        verify(customerRepository, never()).count();
+    }
+
+    @Test
+    void should_fall_back_to_cached_count_when_there_is_no_estimate() {
+        when(customerRepository.estimateCount()).thenReturn(Optional.empty());
+        when(customerRepository.count()).thenReturn(10L);
+
+        assertThat(adapter.count(null, TotalMode.ESTIMATED)).isEqualTo(new PageTotal(10L, TotalMode.CACHED));
+    }
+
+    @Test
+    void should_not_count_when_total_is_omitted() {
+        assertThat(adapter.count("US", TotalMode.NONE)).isEqualTo(PageTotal.none());
+
+        verifyNoInteractions(customerRepository);
+    }
+}
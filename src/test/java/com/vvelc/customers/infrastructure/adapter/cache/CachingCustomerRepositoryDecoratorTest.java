@@ -0,0 +1,150 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingCustomerRepositoryDecoratorTest {
+
+    CustomerRepository delegate;
+    TransactionSynchronizationRegistry transactions;
+    CachingCustomerRepositoryDecorator decorator;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(CustomerRepository.class);
+        transactions = mock(TransactionSynchronizationRegistry.class);
+
+        decorator = mock(CachingCustomerRepositoryDecorator.class, CALLS_REAL_METHODS);
+        decorator.delegate = delegate;
+        decorator.cache = new CustomerByIdCache(new SimpleMeterRegistry(), transactions, true, "object", 10, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void should_call_delegate_once_for_repeated_reads() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(customer("john@mail.com")));
+
+        decorator.findById(1L);
+        Optional<Customer> second = decorator.findById(1L);
+
+        assertThat(second).map(Customer::getEmail).contains("john@mail.com");
+        verify(delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void should_return_copies_of_cached_customers() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(customer("john@mail.com")));
+
+        decorator.findById(1L).orElseThrow().setEmail("changed@mail.com");
+
+        assertThat(decorator.findById(1L)).map(Customer::getEmail).contains("john@mail.com");
+    }
+
+    @Test
+    void should_read_from_delegate_inside_a_transaction() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(customer("john@mail.com")));
+        when(transactions.getTransactionKey()).thenReturn(new Object());
+
+        decorator.findById(1L);
+        decorator.findById(1L);
+
+        verify(delegate, times(2)).findById(1L);
+        assertThat(decorator.cache.size()).isZero();
+    }
+
+    @Test
+    void should_invalidate_on_update_and_again_after_commit() {
+        when(delegate.findById(1L))
+                .thenReturn(Optional.of(customer("john@mail.com")))
+                .thenReturn(Optional.of(customer("new@mail.com")));
+        decorator.findById(1L);
+
+        when(transactions.getTransactionKey()).thenReturn(new Object());
+        when(transactions.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        decorator.update(customer("new@mail.com"));
+
+        // A read that started after the update and put the old, still committed, value before the commit
+        decorator.cache.putCustomer(customer("john@mail.com"), decorator.cache.generation(1L));
+        ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transactions).registerInterposedSynchronization(synchronization.capture());
+        synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+
+        when(transactions.getTransactionKey()).thenReturn(null);
+        assertThat(decorator.findById(1L)).map(Customer::getEmail).contains("new@mail.com");
+    }
+
+    @Test
+    void should_not_cache_a_read_that_finished_after_the_commit_it_missed() {
+        when(transactions.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+        when(delegate.findById(1L)).thenAnswer(invocation -> {
+            // The old row is loaded, then a write commits before the read caches it
+            when(transactions.getTransactionKey()).thenReturn(new Object());
+            decorator.update(customer("new@mail.com"));
+            verify(transactions).registerInterposedSynchronization(synchronization.capture());
+            synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+            when(transactions.getTransactionKey()).thenReturn(null);
+            return Optional.of(customer("john@mail.com"));
+        });
+
+        assertThat(decorator.findById(1L)).map(Customer::getEmail).contains("john@mail.com");
+
+        assertThat(decorator.cache.getCustomer(1L)).isEmpty();
+    }
+
+    @Test
+    void should_only_read_uncached_ids_in_a_multi_id_lookup() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(customer("john@mail.com")));
+        decorator.findById(1L);
+        when(delegate.findAllByIds(List.of(2L, 3L))).thenReturn(List.of(customer(2L, "jane@mail.com")));
+
+        assertThat(decorator.findAllByIds(List.of(1L, 2L, 3L)))
+                .extracting(Customer::getEmail)
+                .containsExactlyInAnyOrder("john@mail.com", "jane@mail.com");
+        assertThat(decorator.findAllByIds(List.of(2L))).extracting(Customer::getEmail).containsExactly("jane@mail.com");
+
+        verify(delegate, times(1)).findAllByIds(any());
+    }
+
+    @Test
+    void should_invalidate_on_delete() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(customer("john@mail.com")));
+        decorator.findById(1L);
+
+        decorator.deleteById(1L);
+
+        assertThat(decorator.cache.size()).isZero();
+    }
+
+    @Test
+    void should_not_cache_objects_in_json_mode() {
+        decorator.cache = new CustomerByIdCache(new SimpleMeterRegistry(), transactions, true, "json", 10, Duration.ofMinutes(1));
+        when(delegate.findById(1L)).thenReturn(Optional.of(customer("john@mail.com")));
+
+        decorator.findById(1L);
+        decorator.findById(1L);
+
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    private static Customer customer(String email) {
+        return customer(1L, email);
+    }
+
+    private static Customer customer(Long id, String email) {
+        return new Customer(id, "John", null, "Doe", null, email, "Street 1", "123", "US", "American");
+    }
+}
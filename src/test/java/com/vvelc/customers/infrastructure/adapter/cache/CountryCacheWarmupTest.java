@@ -0,0 +1,45 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import com.vvelc.customers.application.port.outbound.CountryValidationPort;
+import com.vvelc.customers.domain.exception.CountryServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+
+class CountryCacheWarmupTest {
+
+    CountryValidationPort countryValidationPort;
+
+    @BeforeEach
+    void setup() {
+        countryValidationPort = mock(CountryValidationPort.class);
+    }
+
+    @Test
+    void should_only_load_codes_not_resolved_locally() {
+        when(countryValidationPort.resolvesLocally("US")).thenReturn(true);
+        when(countryValidationPort.resolvesLocally("XK")).thenReturn(false);
+
+        warmup(List.of("US", "XK")).warmUp();
+
+        verify(countryValidationPort, never()).findByIsoCode("US");
+        verify(countryValidationPort).findByIsoCode("XK");
+    }
+
+    @Test
+    void should_continue_after_a_failed_code() {
+        when(countryValidationPort.findByIsoCode("XK")).thenThrow(new CountryServiceException("Country API unavailable"));
+
+        warmup(List.of("XK", "XS")).warmUp();
+
+        verify(countryValidationPort).findByIsoCode("XS");
+    }
+
+    private CountryCacheWarmup warmup(List<String> isoCodes) {
+        return new CountryCacheWarmup(countryValidationPort, true, Optional.of(isoCodes));
+    }
+}
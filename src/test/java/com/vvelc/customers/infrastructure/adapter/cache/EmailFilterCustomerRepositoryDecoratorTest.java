@@ -0,0 +1,121 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmailFilterCustomerRepositoryDecoratorTest {
+
+    SimpleMeterRegistry meterRegistry;
+    CustomerRepository delegate;
+    TransactionSynchronizationRegistry transactions;
+    EmailExistenceFilter emailFilter;
+    EmailFilterCustomerRepositoryDecorator decorator;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        delegate = mock(CustomerRepository.class);
+        transactions = mock(TransactionSynchronizationRegistry.class);
+        emailFilter = new EmailExistenceFilter(delegate, transactions, meterRegistry, true, 1000, 0.01);
+
+        decorator = mock(EmailFilterCustomerRepositoryDecorator.class, CALLS_REAL_METHODS);
+        decorator.delegate = delegate;
+        decorator.emailFilter = emailFilter;
+    }
+
+    @Test
+    void should_query_every_email_until_the_filter_is_built() {
+        when(delegate.existsByEmail("john@mail.com")).thenReturn(false);
+
+        assertThat(decorator.existsByEmail("john@mail.com")).isFalse();
+        verify(delegate).existsByEmail("john@mail.com");
+    }
+
+    @Test
+    void should_skip_the_query_for_emails_ruled_out_by_the_filter() {
+        emailFilter.rebuildFrom(() -> Stream.of("john@mail.com"));
+        when(delegate.existsByEmail("john@mail.com")).thenReturn(true);
+
+        assertThat(decorator.existsByEmail("john@mail.com")).isTrue();
+        assertThat(decorator.existsByEmail("jane@mail.com")).isFalse();
+
+        verify(delegate).existsByEmail("john@mail.com");
+        verify(delegate, never()).existsByEmail("jane@mail.com");
+        assertThat(meterRegistry.get("email.filter.checks").tag("result", "negative").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void should_only_look_up_possibly_registered_emails() {
+        emailFilter.rebuildFrom(() -> Stream.of("taken@mail.com"));
+        when(delegate.findExistingEmails(List.of("taken@mail.com"))).thenReturn(Set.of("taken@mail.com"));
+
+        assertThat(decorator.findExistingEmails(List.of("new@mail.com", "taken@mail.com"))).containsExactly("taken@mail.com");
+        assertThat(decorator.findExistingEmails(List.of("other@mail.com"))).isEmpty();
+
+        verify(delegate, times(1)).findExistingEmails(any());
+    }
+
+    @Test
+    void should_add_saved_emails_to_the_filter() {
+        emailFilter.rebuildFrom(Stream::empty);
+        when(delegate.existsByEmail("john@mail.com")).thenReturn(true);
+
+        decorator.save(customer("john@mail.com"));
+
+        assertThat(decorator.existsByEmail("john@mail.com")).isTrue();
+        verify(delegate).existsByEmail("john@mail.com");
+    }
+
+    @Test
+    void should_add_emails_committed_during_a_rebuild_to_the_new_filter() {
+        emailFilter.rebuildFrom(Stream::empty);
+        when(transactions.getTransactionKey()).thenReturn(new Object());
+        when(transactions.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        decorator.save(customer("john@mail.com"));
+        ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transactions).registerInterposedSynchronization(synchronization.capture());
+
+        // The rebuild query does not see the uncommitted customer, which commits while it runs
+        emailFilter.rebuildFrom(() -> {
+            synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+            return Stream.empty();
+        });
+        when(delegate.existsByEmail("john@mail.com")).thenReturn(true);
+
+        assertThat(decorator.existsByEmail("john@mail.com")).isTrue();
+    }
+
+    @Test
+    void should_report_the_observed_false_positive_rate() {
+        emailFilter.rebuildFrom(() -> IntStream.range(0, 1000).mapToObj(i -> "customer" + i + "@mail.com"));
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> decorator.existsByEmail("unknown" + i + "@mail.com"))
+                .count();
+
+        double rate = meterRegistry.get("email.filter.false.positive.rate").gauge().value();
+        assertThat(falsePositives).isZero();
+        assertThat(rate).isBetween(0.0, 0.03);
+        assertThat(meterRegistry.get("email.filter.false.positives").counter().count())
+                .isEqualTo(meterRegistry.get("email.filter.checks").tag("result", "positive").counter().count());
+    }
+
+    private static Customer customer(String email) {
+        return new Customer(null, "John", null, "Doe", null, email, "Street 1", "8091231234", "US", "American");
+    }
+}
@@ -0,0 +1,111 @@
+package com.vvelc.customers.infrastructure.adapter.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SingleFlightTest {
+
+    static final int CALLERS = 5;
+
+    SimpleMeterRegistry meterRegistry;
+    SingleFlight<String, String> singleFlight;
+    ExecutorService executor;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void should_issue_one_call_for_concurrent_callers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        List<Future<String>> results = submitAll(() -> singleFlight.execute("US", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "American";
+        }));
+        waitForCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("American");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(count("issued")).isEqualTo(1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void should_propagate_failure_to_every_waiter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("API down");
+
+        List<Future<String>> results = submitAll(() -> singleFlight.execute("US", () -> {
+            await(release);
+            throw failure;
+        }));
+        waitForCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isSameAs(failure);
+        }
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    void should_issue_a_new_call_once_the_previous_one_finished() {
+        assertThat(singleFlight.execute("US", () -> "first")).isEqualTo("first");
+        assertThat(singleFlight.execute("US", () -> "second")).isEqualTo("second");
+
+        assertThat(count("issued")).isEqualTo(2);
+        assertThat(count("coalesced")).isZero();
+    }
+
+    private List<Future<String>> submitAll(Callable<String> task) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) results.add(executor.submit(task));
+        return results;
+    }
+
+    private void waitForCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("coalesced") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(count("coalesced")).isEqualTo(expected);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("singleflight.calls").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.vvelc.customers.infrastructure.adapter.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelc.customers.application.model.CountryInfo;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CountryCatalogTest {
+
+    static CountryCatalog bundled;
+
+    @BeforeAll
+    static void load() throws Exception {
+        try (InputStream in = CountryCatalogTest.class.getClassLoader().getResourceAsStream("country-catalog.json")) {
+            bundled = CountryCatalog.fromJson(in, new ObjectMapper());
+        }
+    }
+
+    @Test
+    void should_load_bundled_catalog() {
+        assertThat(bundled.size()).isGreaterThanOrEqualTo(245);
+        assertThat(bundled.find("US")).isEqualTo(new CountryInfo("US", "United States", "American"));
+        assertThat(bundled.find("MX").demonym()).isEqualTo("Mexican");
+    }
+
+    @Test
+    void should_find_codes_case_insensitively() {
+        assertThat(bundled.find("ca")).isSameAs(bundled.find("CA"));
+    }
+
+    @Test
+    void should_return_null_for_unknown_or_malformed_codes() {
+        assertThat(bundled.find("XX")).isNull();
+        assertThat(bundled.find("USA")).isNull();
+        assertThat(bundled.find("1A")).isNull();
+        assertThat(bundled.find("")).isNull();
+        assertThat(bundled.find(null)).isNull();
+    }
+
+    @Test
+    void should_default_missing_fields_like_the_rest_adapter() throws Exception {
+        String json = "[{\"cca2\":\"bv\",\"name\":{\"common\":\"Bouvet Island\"}},{\"name\":{\"common\":\"No code\"}}]";
+
+        CountryCatalog catalog = CountryCatalog.fromJson(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), new ObjectMapper());
+
+        assertThat(catalog.size()).isEqualTo(1);
+        assertThat(catalog.find("BV")).isEqualTo(new CountryInfo("BV", "Bouvet Island", "N/A"));
+    }
+}
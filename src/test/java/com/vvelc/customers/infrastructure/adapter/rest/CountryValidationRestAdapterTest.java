@@ -3,7 +3,6 @@ package com.vvelc.customers.infrastructure.adapter.rest;
 import com.vvelc.customers.application.model.CountryInfo;
 import com.vvelc.customers.domain.exception.CountryNotFoundException;
 import com.vvelc.customers.domain.exception.CountryServiceException;
-import jakarta.json.*;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,13 +11,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class CountryValidationRestAdapterTest {
 
     @Mock
-    private CountryValidationApiClient apiClient;
+    private ResilientCountryApiClient apiClient;
 
     @InjectMocks
     private CountryValidationRestAdapter adapter;
@@ -28,19 +31,16 @@ class CountryValidationRestAdapterTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    private static Response jsonResponse(String json) {
+        Response response = mock(Response.class);
+        when(response.readEntity(InputStream.class))
+                .thenReturn(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        return response;
+    }
+
     @Test
     void should_return_country_info_successfully() {
-        JsonObject name = Json.createObjectBuilder().add("common", "United States").build();
-        JsonObject demonyms = Json.createObjectBuilder()
-                .add("eng", Json.createObjectBuilder().add("m", "American")).build();
-        JsonObject countryJson = Json.createObjectBuilder()
-                .add("name", name)
-                .add("demonyms", demonyms)
-                .build();
-        JsonArray jsonArray = Json.createArrayBuilder().add(countryJson).build();
-
-        Response response = mock(Response.class);
-        when(response.readEntity(JsonArray.class)).thenReturn(jsonArray);
+        Response response = jsonResponse("[{\"name\":{\"common\":\"United States\"},\"demonyms\":{\"eng\":{\"m\":\"American\"}}}]");
         when(apiClient.getCountryByCode("US")).thenReturn(response);
 
         CountryInfo result = adapter.findByIsoCode("US");
@@ -51,11 +51,33 @@ class CountryValidationRestAdapterTest {
     }
 
     @Test
-    void should_throw_when_country_not_found_in_empty_array() {
-        JsonArray emptyArray = Json.createArrayBuilder().build();
-
+    void should_parse_recorded_api_payload() throws Exception {
         Response response = mock(Response.class);
-        when(response.readEntity(JsonArray.class)).thenReturn(emptyArray);
+        try (InputStream payload = getClass().getResourceAsStream("/restcountries/alpha-us.json")) {
+            when(response.readEntity(InputStream.class))
+                    .thenReturn(new ByteArrayInputStream(payload.readAllBytes()));
+        }
+        when(apiClient.getCountryByCode("us")).thenReturn(response);
+
+        CountryInfo result = adapter.findByIsoCode("us");
+
+        assertThat(result).isEqualTo(new CountryInfo("US", "United States", "American"));
+    }
+
+    @Test
+    void should_default_missing_name_and_demonym() {
+        Response response = jsonResponse("[{\"name\":\"unexpected\",\"flags\":{\"png\":\"x\"}}]");
+        when(apiClient.getCountryByCode("BV")).thenReturn(response);
+
+        CountryInfo result = adapter.findByIsoCode("BV");
+
+        assertThat(result.name()).isEqualTo("Unknown");
+        assertThat(result.demonym()).isEqualTo("N/A");
+    }
+
+    @Test
+    void should_throw_when_country_not_found_in_empty_array() {
+        Response response = jsonResponse("[]");
         when(apiClient.getCountryByCode("XX")).thenReturn(response);
 
         assertThatThrownBy(() -> adapter.findByIsoCode("XX"))
@@ -0,0 +1,150 @@
+package com.vvelc.customers.infrastructure.adapter.search;
+
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SearchIndexCustomerRepositoryDecoratorTest {
+
+    SimpleMeterRegistry meterRegistry;
+    CustomerRepository delegate;
+    TransactionSynchronizationRegistry transactions;
+    CustomerSearchIndex searchIndex;
+    SearchIndexCustomerRepositoryDecorator decorator;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        delegate = mock(CustomerRepository.class);
+        transactions = mock(TransactionSynchronizationRegistry.class);
+        searchIndex = new CustomerSearchIndex(delegate, transactions, meterRegistry, "memory");
+
+        decorator = mock(SearchIndexCustomerRepositoryDecorator.class, CALLS_REAL_METHODS);
+        decorator.delegate = delegate;
+        decorator.searchIndex = searchIndex;
+    }
+
+    @Test
+    void should_search_the_database_until_the_index_is_built() {
+        when(delegate.search("john", 10)).thenReturn(List.of(customer(1L, "John", "john@mail.com")));
+
+        assertThat(decorator.search("john", 10)).extracting(Customer::getId).containsExactly(1L);
+        verify(delegate).search("john", 10);
+    }
+
+    @Test
+    void should_search_the_database_when_the_backend_is_database() {
+        searchIndex = new CustomerSearchIndex(delegate, transactions, meterRegistry, "database");
+        decorator.searchIndex = searchIndex;
+        searchIndex.rebuild();
+
+        decorator.search("john", 10);
+
+        verify(delegate).search("john", 10);
+        verify(delegate, never()).streamAll(any());
+    }
+
+    @Test
+    void should_read_the_matches_in_a_single_lookup_in_index_order() {
+        Customer peter = customer(1L, "Peter", "peter.john@mail.com");
+        Customer john = customer(2L, "John", "john@mail.com");
+        searchIndex.rebuildFrom(() -> Stream.of(peter, john, customer(3L, "Jane", "jane@mail.com")));
+        when(delegate.findAllByIds(List.of(2L, 1L))).thenReturn(List.of(peter, john));
+
+        assertThat(decorator.search("john", 10)).containsExactly(john, peter);
+        assertThat(decorator.search("xyz", 10)).isEmpty();
+
+        verify(delegate, times(1)).findAllByIds(any());
+        verify(delegate, never()).search(anyString(), anyInt());
+    }
+
+    @Test
+    void should_skip_matches_that_no_longer_exist() {
+        searchIndex.rebuildFrom(() -> Stream.of(customer(1L, "John", "john@mail.com"), customer(2L, "Johnny", "johnny@mail.com")));
+        when(delegate.findAllByIds(List.of(1L, 2L))).thenReturn(List.of(customer(2L, "Johnny", "johnny@mail.com")));
+
+        assertThat(decorator.search("john", 10)).extracting(Customer::getId).containsExactly(2L);
+    }
+
+    @Test
+    void should_apply_written_and_deleted_customers_to_the_index() {
+        searchIndex.rebuildFrom(() -> Stream.of(customer(1L, "John", "john@mail.com")));
+        when(delegate.save(any())).thenReturn(customer(2L, "Jane", "jane@mail.com"));
+        when(delegate.update(any())).thenReturn(Optional.of(customer(1L, "John", "johnny@work.com")));
+        when(delegate.deleteById(2L)).thenReturn(true);
+
+        decorator.save(customer(null, "Jane", "jane@mail.com"));
+        assertThat(searchIndex.search("jane", 10)).contains(List.of(2L));
+
+        decorator.update(customer(1L, "John", "johnny@work.com"));
+        assertThat(searchIndex.search("work", 10)).contains(List.of(1L));
+        assertThat(searchIndex.search("john@mail", 10)).contains(List.of());
+
+        decorator.deleteById(2L);
+        assertThat(searchIndex.search("jane", 10)).contains(List.of());
+    }
+
+    @Test
+    void should_apply_writes_only_once_committed() {
+        searchIndex.rebuildFrom(Stream::empty);
+        when(transactions.getTransactionKey()).thenReturn(new Object());
+        when(transactions.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        when(delegate.saveAll(any())).thenReturn(List.of(customer(1L, "John", "john@mail.com"), customer(2L, "Jane", "jane@mail.com")));
+
+        decorator.saveAll(List.of());
+        ArgumentCaptor<Synchronization> synchronizations = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transactions, times(2)).registerInterposedSynchronization(synchronizations.capture());
+        assertThat(searchIndex.search("mail", 10)).contains(List.of());
+
+        synchronizations.getAllValues().get(0).afterCompletion(Status.STATUS_COMMITTED);
+        synchronizations.getAllValues().get(1).afterCompletion(Status.STATUS_ROLLEDBACK);
+        assertThat(searchIndex.search("mail", 10)).contains(List.of(1L));
+    }
+
+    @Test
+    void should_keep_customers_committed_during_a_rebuild() {
+        searchIndex.rebuildFrom(Stream::empty);
+        when(transactions.getTransactionKey()).thenReturn(new Object());
+        when(transactions.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        when(delegate.update(any())).thenReturn(Optional.of(customer(1L, "John", "johnny@work.com")));
+        decorator.update(customer(1L, "John", "johnny@work.com"));
+        ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transactions).registerInterposedSynchronization(synchronization.capture());
+
+        // The rebuild query reads the customer before the update, which commits while it runs
+        searchIndex.rebuildFrom(() -> {
+            synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+            return Stream.of(customer(1L, "John", "john@mail.com"));
+        });
+
+        assertThat(searchIndex.search("work", 10)).contains(List.of(1L));
+        assertThat(searchIndex.search("john@mail", 10)).contains(List.of());
+    }
+
+    @Test
+    void should_report_the_index_size() {
+        searchIndex.rebuildFrom(() -> Stream.of(customer(1L, "John", "john@mail.com"), customer(2L, "Jane", "jane@mail.com")));
+
+        assertThat(meterRegistry.get("search.index.customers").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("search.index.bytes").gauge().value()).isPositive();
+        assertThat(meterRegistry.get("search.index.bytes.per.customer").gauge().value())
+                .isEqualTo(meterRegistry.get("search.index.bytes").gauge().value() / 2);
+    }
+
+    private static Customer customer(Long id, String firstName, String email) {
+        return new Customer(id, firstName, null, "Doe", null, email, "Street 1", "8091231234", "US", "American");
+    }
+}
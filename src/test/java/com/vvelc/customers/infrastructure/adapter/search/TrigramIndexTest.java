@@ -0,0 +1,131 @@
+package com.vvelc.customers.infrastructure.adapter.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TrigramIndexTest {
+
+    TrigramIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new TrigramIndex();
+    }
+
+    @Test
+    void should_find_partial_matches_ignoring_case() {
+        index.put(1, "John", "Doe", null, "john.doe@mail.com");
+        index.put(2, "Jane", "Smith", "Johnson", "jane@mail.com");
+        index.put(3, "Peter", "Parker", null, "peter@mail.com");
+
+        assertThat(index.search("OHN", 10)).containsExactly(1, 2);
+        assertThat(index.search("mail.com", 10)).containsExactly(1, 2, 3);
+        assertThat(index.search("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void should_not_match_trigrams_that_are_not_contiguous() {
+        index.put(1, "Anna", "Nabokov", null, "anna@mail.com");
+
+        // "nna", "nab" are indexed but "nnab" only exists across the field boundary
+        assertThat(index.search("nnab", 10)).isEmpty();
+        assertThat(index.search("anna", 10)).containsExactly(1);
+    }
+
+    @Test
+    void should_rank_exact_email_then_prefix_then_other_matches() {
+        index.put(1, "Maria", "Lopez", null, "amaria@mail.com");
+        index.put(2, "Ana", "Marian", null, "ana@mail.com");
+        index.put(3, "Luis", "Perez", null, "maria@mail.com");
+
+        assertThat(index.search("maria@mail.com", 10)).containsExactly(3, 1);
+        assertThat(index.search("maria", 10)).containsExactly(1, 2, 3);
+        assertThat(index.search("aria", 10)).containsExactly(1, 2, 3);
+        assertThat(index.search("maria", 2)).containsExactly(1, 2);
+    }
+
+    @Test
+    void should_scan_for_terms_shorter_than_a_trigram() {
+        index.put(1, "Al", "Bo", null, "al@x.io");
+        index.put(2, "Ed", "Li", null, "ed@y.io");
+
+        assertThat(index.search("al", 10)).containsExactly(1);
+        assertThat(index.search(".io", 10)).containsExactly(1, 2);
+    }
+
+    @Test
+    void should_replace_updated_customers_and_drop_removed_ones() {
+        index.put(1, "John", "Doe", null, "john@mail.com");
+        index.put(2, "Jane", "Doe", null, "jane@mail.com");
+
+        index.put(1, "John", "Doe", null, "johnny@work.com");
+        index.remove(2);
+
+        assertThat(index.search("mail.com", 10)).isEmpty();
+        assertThat(index.search("work", 10)).containsExactly(1);
+        assertThat(index.search("doe", 10)).containsExactly(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_keep_writes_made_during_a_load() {
+        index.put(1, "John", "Doe", null, "new@mail.com");
+        index.remove(2);
+
+        // Rows read by the build before those writes committed
+        index.load(1, "John", "Doe", null, "old@mail.com");
+        index.load(2, "Jane", "Doe", null, "jane@mail.com");
+        index.load(3, "Peter", "Parker", null, "peter@mail.com");
+
+        assertThat(index.search("mail.com", 10)).containsExactly(1, 3);
+        assertThat(index.search("old", 10)).isEmpty();
+    }
+
+    @Test
+    void should_return_the_same_matches_as_a_scan() {
+        Random random = new Random(42);
+        List<String[]> customers = new ArrayList<>();
+        for (int id = 1; id <= 2000; id++) {
+            String[] fields = {word(random), word(random), random.nextBoolean() ? word(random) : null,
+                    word(random) + id + "@mail.com"};
+            customers.add(fields);
+            index.put(id, fields);
+        }
+
+        for (String term : List.of("ab", "abc", "ca", "mail", "a1", "bad", "cab@")) {
+            List<Long> expected = new ArrayList<>();
+            for (int i = 0; i < customers.size(); i++) {
+                for (String field : customers.get(i)) {
+                    if (field != null && field.toLowerCase(Locale.ROOT).contains(term)) {
+                        expected.add(i + 1L);
+                        break;
+                    }
+                }
+            }
+            assertThat(index.search(term, customers.size())).as(term)
+                    .containsExactlyInAnyOrder(expected.stream().mapToLong(Long::longValue).toArray());
+        }
+    }
+
+    @Test
+    void should_estimate_its_memory() {
+        long empty = index.estimatedBytes();
+        for (int id = 1; id <= 1000; id++) index.put(id, "Customer", "Number" + id, null, "customer" + id + "@mail.com");
+
+        assertThat(index.estimatedBytes()).isGreaterThan(empty + 1000 * 50);
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[3 + random.nextInt(5)];
+        for (int i = 0; i < letters.length; i++) letters[i] = (char) ('a' + random.nextInt(4));
+        letters[0] = Character.toUpperCase(letters[0]);
+        return new String(letters);
+    }
+}
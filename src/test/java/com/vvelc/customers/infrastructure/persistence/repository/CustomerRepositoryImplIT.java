@@ -1,14 +1,20 @@
 package com.vvelc.customers.infrastructure.persistence.repository;
 
+import com.vvelc.customers.domain.exception.CustomerAlreadyExistsException;
 import com.vvelc.customers.domain.model.Customer;
 import com.vvelc.customers.domain.repository.CustomerRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.hibernate.Session;
 import org.junit.jupiter.api.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -20,6 +26,9 @@ class CustomerRepositoryImplIT {
     @Inject
     CustomerRepository repository;
 
+    @Inject
+    EntityManager entityManager;
+
     Long savedId1;
     Long savedId2;
 
@@ -69,6 +78,90 @@ class CustomerRepositoryImplIT {
         assertThat(customers).isNotEmpty().allMatch(c -> c.getCountry().equals("US"));
     }
 
+    @Test
+    @DisplayName("Should find customers after an ID ordered by ID")
+    void should_find_all_after_id() {
+        List<Customer> customers = repository.findAllAfter(savedId1, 10);
+        assertThat(customers).isNotEmpty().allMatch(c -> c.getId() > savedId1);
+        assertThat(customers.getFirst().getId()).isEqualTo(savedId2);
+        assertThat(customers).extracting(Customer::getId).isSorted();
+    }
+
+    @Test
+    @DisplayName("Should find customers by country after an ID")
+    void should_find_by_country_after_id() {
+        List<Customer> customers = repository.findByCountryAfter("US", null, 10);
+        assertThat(customers).isNotEmpty().allMatch(c -> c.getCountry().equals("US"));
+        assertThat(customers).extracting(Customer::getId).isSorted().contains(savedId1, savedId2);
+
+        assertThat(repository.findByCountryAfter("US", savedId2, 10)).noneMatch(c -> c.getId() <= savedId2);
+    }
+
+    @Test
+    @DisplayName("Should stream customers of a country ordered by ID")
+    @Transactional
+    void should_stream_customers_by_country() {
+        try (Stream<Customer> customers = repository.streamAll("US")) {
+            List<Customer> streamed = customers.toList();
+            assertThat(streamed).allMatch(c -> c.getCountry().equals("US"));
+            assertThat(streamed).extracting(Customer::getId).isSorted().contains(savedId1, savedId2);
+            assertThat(streamed).filteredOn(c -> c.getId().equals(savedId1))
+                    .singleElement()
+                    .extracting(Customer::getEmail, Customer::getDemonym)
+                    .containsExactly("alice@test.com", "American");
+        }
+
+        try (Stream<Customer> customers = repository.streamAll("CA")) {
+            assertThat(customers).noneMatch(c -> c.getId().equals(savedId1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should read customers without adding entities to the persistence context")
+    @Transactional
+    void should_read_without_managed_entities() {
+        assertThat(repository.findById(savedId1)).isPresent();
+        assertThat(repository.findAll(0, 10)).isNotEmpty();
+        assertThat(repository.findByCountry("US", 0, 10)).isNotEmpty();
+        assertThat(repository.findAllAfter(null, 10)).isNotEmpty();
+
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should find customers by several IDs, leaving out missing ones")
+    void should_find_all_by_ids() {
+        assertThat(repository.findAllByIds(List.of(savedId2, -1L, savedId1)))
+                .extracting(Customer::getId, Customer::getEmail)
+                .containsExactlyInAnyOrder(tuple(savedId1, "alice@test.com"), tuple(savedId2, "bob@test.com"));
+        assertThat(repository.findAllByIds(List.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should search customers by part of a name or email, ignoring case")
+    void should_search_by_partial_name_or_email() {
+        assertThat(repository.search("BROW", 10)).extracting(Customer::getEmail)
+                .contains("bob@test.com")
+                .doesNotContain("alice@test.com");
+        assertThat(repository.search("ice@test", 10)).extracting(Customer::getEmail).contains("alice@test.com");
+    }
+
+    @Test
+    @DisplayName("Should rank the exact email first, then prefix matches, then the rest by ID")
+    void should_rank_search_results() {
+        assertThat(repository.search("bob@test.com", 1)).extracting(Customer::getId).containsExactly(savedId2);
+        assertThat(repository.search("bob", 10)).extracting(Customer::getId).startsWith(savedId2);
+        assertThat(repository.search("test.com", 10)).extracting(Customer::getId).containsSubsequence(savedId1, savedId2);
+        assertThat(repository.search("test.com", 1)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should treat LIKE wildcards in the search text literally")
+    void should_escape_wildcards_in_search() {
+        assertThat(repository.search("a%b", 10)).isEmpty();
+        assertThat(repository.search("___", 10)).isEmpty();
+    }
+
     @Test
     @DisplayName("Should update customer fields")
     @Transactional
@@ -106,6 +199,87 @@ class CustomerRepositoryImplIT {
         assertThat(count).isGreaterThanOrEqualTo(2);
     }
 
+    @Test
+    @DisplayName("Should keep per-country counters in sync with writes")
+    @Transactional
+    void should_maintain_country_counters() {
+        long us = repository.countByCountry("US");
+        long ca = repository.countByCountry("CA");
+        long total = repository.count();
+
+        repository.update(new Customer(savedId1, null, null, null, null, "alice@test.com", "Main St", "123", "CA", "Canadian"));
+        assertThat(repository.countByCountry("US")).isEqualTo(us - 1);
+        assertThat(repository.countByCountry("CA")).isEqualTo(ca + 1);
+
+        repository.deleteById(savedId2);
+        assertThat(repository.countByCountry("US")).isEqualTo(us - 2);
+        assertThat(repository.count()).isEqualTo(total - 1);
+    }
+
+    @Test
+    @DisplayName("Should spread a country counter over several rows and add them up")
+    @Transactional
+    void should_stripe_country_counters() {
+        List<Long> ids = IntStream.range(0, 20)
+                .mapToObj(i -> repository.save(new Customer(null, "Bruna", null, "Lima", null, "bruna" + i + "@test.com",
+                        "Rua 1", "123", "BR", "Brazilian")).getId())
+                .toList();
+
+        assertThat(repository.countByCountry("BR")).isEqualTo(20);
+        assertThat(repository.countPerCountry()).containsEntry("BR", 20L);
+        assertThat(entityManager.createQuery("select count(s) from CustomerCountryStatsEntity s where s.country = 'BR'",
+                Long.class).getSingleResult()).isGreaterThan(1);
+
+        ids.forEach(repository::deleteById);
+        assertThat(repository.countByCountry("BR")).isZero();
+        assertThat(repository.countPerCountry()).doesNotContainKey("BR");
+    }
+
+    @Test
+    @DisplayName("Should return customer count per country")
+    void should_count_per_country() {
+        assertThat(repository.countPerCountry())
+                .containsEntry("US", repository.countByCountry("US"))
+                .doesNotContainValue(0L);
+        assertThat(repository.countByCountry("ZZ")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should save a batch of customers and update the country counters")
+    @Transactional
+    void should_save_all() {
+        long mx = repository.countByCountry("MX");
+
+        List<Customer> saved = repository.saveAll(List.of(
+                new Customer(null, "Carla", null, "Ruiz", null, "carla@test.com", "Calle 1", "123", "MX", "Mexican"),
+                new Customer(null, "Diego", null, "Luna", null, "diego@test.com", "Calle 2", "456", "MX", "Mexican")
+        ));
+
+        assertThat(saved).extracting(Customer::getId).doesNotContainNull();
+        assertThat(repository.countByCountry("MX")).isEqualTo(mx + 2);
+        saved.forEach(customer -> repository.deleteById(customer.getId()));
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate email on save")
+    void should_reject_duplicate_email_on_save() {
+        Customer duplicate = new Customer(null, "Alicia", null, "Smith", null, "alice@test.com", "Third St", "789", "US", "American");
+        Long usCustomers = repository.countByCountry("US");
+
+        assertThatThrownBy(() -> QuarkusTransaction.requiringNew().run(() -> repository.save(duplicate)))
+                .isInstanceOf(CustomerAlreadyExistsException.class)
+                .hasMessage("Email already registered: alice@test.com");
+        assertThat(repository.countByCountry("US")).isEqualTo(usCustomers);
+    }
+
+    @Test
+    @DisplayName("Should find which emails are already registered")
+    void should_find_existing_emails() {
+        assertThat(repository.findExistingEmails(List.of("alice@test.com", "bob@test.com", "nobody@test.com")))
+                .containsExactlyInAnyOrder("alice@test.com", "bob@test.com");
+        assertThat(repository.findExistingEmails(List.of())).isEmpty();
+    }
+
     @Test
     @DisplayName("Should detect existing email")
     void should_detect_existing_email() {
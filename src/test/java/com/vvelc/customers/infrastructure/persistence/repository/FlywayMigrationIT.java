@@ -0,0 +1,128 @@
+package com.vvelc.customers.infrastructure.persistence.repository;
+
+import com.vvelc.customers.infrastructure.persistence.entity.CustomerCountryStatsEntity;
+import com.vvelc.customers.infrastructure.persistence.entity.CustomerEntity;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * The test profile builds its H2 schema from the entities, so the migrations only run here: against a scratch
+ * database created next to {@code customers.it.postgres.url} (a role allowed to create databases is needed), with
+ * the Flyway settings of the application.
+ */
+@EnabledIfSystemProperty(named = "customers.it.postgres.url", matches = ".+")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Flyway migrations on PostgreSQL")
+class FlywayMigrationIT {
+
+    static final String DATABASE = "customers_migration_it";
+
+    static final String URL = System.getProperty("customers.it.postgres.url");
+    static final String USER = System.getProperty("customers.it.postgres.user", "quarkus");
+    static final String PASSWORD = System.getProperty("customers.it.postgres.password", "quarkus");
+
+    static String migratedUrl;
+
+    @BeforeAll
+    static void createDatabase() throws SQLException {
+        execute(URL, "DROP DATABASE IF EXISTS " + DATABASE, "CREATE DATABASE " + DATABASE);
+        migratedUrl = URL.replaceFirst("/[^/?]*(\\?|$)", "/" + DATABASE + "$1");
+    }
+
+    @AfterAll
+    static void dropDatabase() throws SQLException {
+        execute(URL, "DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)");
+    }
+
+    @Test
+    @Order(1)
+    void should_apply_every_migration() {
+        FluentConfiguration configuration = Flyway.configure()
+                .dataSource(migratedUrl, USER, PASSWORD)
+                .locations("db/migration");
+        new FlywaySessionLockCustomizer().customize(configuration);
+        Flyway flyway = configuration.load();
+
+        MigrateResult result = flyway.migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(result.targetSchemaVersion).isEqualTo("6");
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    @Order(2)
+    void should_build_valid_search_indexes() throws SQLException {
+        // A CONCURRENTLY build that fails leaves the index behind, marked invalid
+        List<String> indexes = query("SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid "
+                + "WHERE c.relname LIKE 'idx_customers_%' AND i.indisvalid");
+
+        assertThat(indexes).contains(
+                "idx_customers_first_name_prefix", "idx_customers_first_last_name_prefix",
+                "idx_customers_second_last_name_prefix", "idx_customers_email_prefix",
+                "idx_customers_first_name_trgm", "idx_customers_first_last_name_trgm",
+                "idx_customers_second_last_name_trgm", "idx_customers_email_trgm");
+    }
+
+    @Test
+    @Order(3)
+    void should_match_the_entities_and_share_the_id_sequence_with_plain_inserts() throws SQLException {
+        try (SessionFactory sessionFactory = new Configuration()
+                .addAnnotatedClass(CustomerEntity.class)
+                .addAnnotatedClass(CustomerCountryStatsEntity.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, migratedUrl)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, USER)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, PASSWORD)
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "validate")
+                .buildSessionFactory()) {
+
+            CustomerEntity customer = new CustomerEntity(null, "Mark", null, "Wayne", null, "mark@migration.test",
+                    "Street 1", "8091231234", "US", "American");
+            sessionFactory.inTransaction(session -> session.persist(customer));
+
+            // The column default (seed, manual SQL) takes the next block, never an id Hibernate has reserved
+            execute(migratedUrl, "INSERT INTO customers (first_name, first_last_name, email, address, phone, country, demonym) "
+                    + "VALUES ('Lena', 'Park', 'lena@migration.test', 'Street 2', '8091231234', 'US', 'American')");
+            long plainId = Long.parseLong(query("SELECT id FROM customers WHERE email = 'lena@migration.test'").get(0));
+
+            assertThat(plainId).isGreaterThan(customer.getId() + CustomerEntity.ID_ALLOCATION_SIZE - 1);
+        }
+    }
+
+    private static void execute(String url, String... statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, USER, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static List<String> query(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(migratedUrl, USER, PASSWORD);
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(sql)) {
+            List<String> values = new ArrayList<>();
+            while (rows.next()) {
+                values.add(rows.getString(1));
+            }
+            return values;
+        }
+    }
+}
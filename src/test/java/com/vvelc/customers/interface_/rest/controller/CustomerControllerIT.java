@@ -4,16 +4,23 @@ import com.vvelc.customers.domain.model.Customer;
 import com.vvelc.customers.domain.repository.CustomerRepository;
 import com.vvelc.customers.interface_.rest.dto.CustomerCreateRequest;
 import com.vvelc.customers.interface_.rest.dto.CustomerUpdateRequest;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.common.http.TestHTTPEndpoint;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.LongStream;
+
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @QuarkusTest
@@ -23,6 +30,9 @@ class CustomerControllerIT {
     @Inject
     CustomerRepository repository;
 
+    @Inject
+    EntityManager entityManager;
+
     Long c1Id;
     Long c2Id;
 
@@ -116,6 +126,215 @@ class CustomerControllerIT {
                 .statusCode(400);
     }
 
+    @Test
+    void should_create_customers_in_batch() {
+        List<CustomerCreateRequest> requests = List.of(
+                new CustomerCreateRequest("Mark", "", "Wayne", "", "mark.batch@test.com", "Street 1", "8091231234", "US"),
+                new CustomerCreateRequest("Jane", "", "Smith", "", "jane@test.com", "Street 2", "8091231234", "US"),
+                new CustomerCreateRequest("Lena", "", "Park", "", "invalid-email", "Street 3", "8091231234", "CA"),
+                new CustomerCreateRequest("Omar", "", "Diaz", "", "omar.batch@test.com", "Street 4", "8091231234", "XX")
+        );
+
+        List<Integer> createdIds = given()
+                .contentType(ContentType.JSON)
+                .body(requests)
+                .when()
+                .post("/batch")
+                .then()
+                .statusCode(200)
+                .body("created", equalTo(1))
+                .body("conflicts", equalTo(1))
+                .body("invalid", equalTo(2))
+                .body("items.status", contains("created", "conflict", "invalid", "invalid"))
+                .body("items[0].customer.demonym", equalTo("American"))
+                .body("items[2].error", containsString("Email must be a valid email address"))
+                .extract().path("items.findAll { it.status == 'created' }.customer.id");
+
+        createdIds.forEach(id -> given().when().delete("/{id}", id).then().statusCode(204));
+    }
+
+    @Test
+    void should_report_only_the_item_registered_by_another_instance() {
+        // Written straight to the table, like another instance would: this instance's email filter does not know it
+        QuarkusTransaction.requiringNew().run(() -> entityManager.createNativeQuery("INSERT INTO customers "
+                        + "(id, first_name, first_last_name, email, address, phone, country, demonym) "
+                        + "VALUES (nextval('customers_id_seq'), 'Omar', 'Diaz', 'omar.elsewhere@test.com', 'Street 4', '8091231234', 'US', 'American')")
+                .executeUpdate());
+
+        List<CustomerCreateRequest> requests = List.of(
+                new CustomerCreateRequest("Mark", "", "Wayne", "", "mark.elsewhere@test.com", "Street 1", "8091231234", "US"),
+                new CustomerCreateRequest("Omar", "", "Diaz", "", "omar.elsewhere@test.com", "Street 4", "8091231234", "US")
+        );
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(requests)
+                .when()
+                .post("/batch")
+                .then()
+                .statusCode(200)
+                .body("items.status", contains("created", "conflict"))
+                .body("items[1].error", equalTo("Email already registered: omar.elsewhere@test.com"));
+
+        deleteByEmail("mark.elsewhere@test.com");
+        QuarkusTransaction.requiringNew().run(() -> entityManager
+                .createNativeQuery("DELETE FROM customers WHERE email = 'omar.elsewhere@test.com'")
+                .executeUpdate());
+    }
+
+    @Test
+    void should_reject_empty_batch() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of())
+                .when()
+                .post("/batch")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void should_import_customers_from_ndjson() {
+        String body = """
+                {"firstName":"Mark","firstLastName":"Wayne","email":"mark.import@test.com","address":"Street 1","phone":"8091231234","country":"US"}
+                {"firstName":"Jane","firstLastName":"Smith","email":"jane@test.com","address":"Street 2","phone":"8091231234","country":"US"}
+                {"firstName":"Lena"
+                {"firstName":"Omar","firstLastName":"Diaz","email":"omar.import@test.com","address":"Street 4","phone":"8091231234","country":"CA"}
+                """;
+
+        given()
+                .contentType("application/x-ndjson")
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .when()
+                .post("/import")
+                .then()
+                .statusCode(200)
+                .body("lines", equalTo(4))
+                .body("created", equalTo(2))
+                .body("conflicts", equalTo(1))
+                .body("invalid", equalTo(1))
+                .body("chunks", equalTo(2))
+                .body("errors.line", contains(2, 3))
+                .body("errors.status", contains("conflict", "invalid"));
+
+        deleteByEmail("mark.import@test.com");
+        deleteByEmail("omar.import@test.com");
+    }
+
+    @Test
+    void should_import_customers_from_csv() {
+        String body = """
+                firstName,firstLastName,email,address,phone,country
+                Mark,Wayne,mark.csv@test.com,"Street 1, Apt 2",8091231234,US
+                Lena,Park,lena.csv@test.com,Street 3,8091231234,XX
+                """;
+
+        given()
+                .contentType("text/csv")
+                .body(body)
+                .when()
+                .post("/import")
+                .then()
+                .statusCode(200)
+                .body("created", equalTo(1))
+                .body("invalid", equalTo(1))
+                .body("errors[0].line", equalTo(3))
+                .body("errors[0].error", equalTo("Country not found: XX"));
+
+        deleteByEmail("mark.csv@test.com");
+    }
+
+    @Test
+    void should_reject_csv_import_with_unknown_columns() {
+        given()
+                .contentType("text/csv")
+                .body("email,nickname\nmark@test.com,Mark\n")
+                .when()
+                .post("/import")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void should_reject_a_body_over_the_limit_of_its_route() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"firstName\":\"" + "a".repeat(70_000) + "\"}")
+                .when()
+                .post()
+                .then()
+                .statusCode(413);
+    }
+
+    @Test
+    void should_import_a_body_over_the_limit_of_the_other_routes() {
+        int lines = 2_000;
+        String body = "{\"firstName\":\"Lena\",\"email\":\"not-an-email\"}\n".repeat(lines);
+        assertThat(body.length()).isGreaterThan(64 * 1024);
+
+        given()
+                .contentType("application/x-ndjson")
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .when()
+                .post("/import")
+                .then()
+                .statusCode(200)
+                .body("lines", equalTo(lines))
+                .body("invalid", equalTo(lines))
+                .body("created", equalTo(0));
+    }
+
+    void deleteByEmail(String email) {
+        QuarkusTransaction.requiringNew().run(() -> repository.findAll(0, 1000).stream()
+                .filter(customer -> customer.getEmail().equals(email))
+                .forEach(customer -> repository.deleteById(customer.getId())));
+    }
+
+    @Test
+    void should_export_customers_as_ndjson() {
+        String body = given()
+                .queryParam("country", "us")
+                .when()
+                .get("/export")
+                .then()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract().asString();
+
+        assertThat(body.lines().toList())
+                .anyMatch(line -> line.contains("\"id\":" + c1Id + ",") && line.contains("\"email\":\"john@test.com\""))
+                .anyMatch(line -> line.contains("\"email\":\"jane@test.com\""))
+                .allMatch(line -> line.startsWith("{") && line.contains("\"country\":\"US\""));
+    }
+
+    @Test
+    void should_export_customers_as_csv() {
+        String body = given()
+                .queryParam("format", "csv")
+                .when()
+                .get("/export")
+                .then()
+                .statusCode(200)
+                .contentType(startsWith("text/csv"))
+                .header("Content-Disposition", containsString("customers.csv"))
+                .extract().asString();
+
+        assertThat(body.lines().findFirst())
+                .contains("id,firstName,secondName,firstLastName,secondLastName,email,address,phone,country,demonym");
+        assertThat(body.lines())
+                .contains(c1Id + ",John,,Doe,,john@test.com,Address1,123,US,American");
+    }
+
+    @Test
+    void should_reject_unknown_export_format() {
+        given()
+                .queryParam("format", "xml")
+                .when()
+                .get("/export")
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     void should_get_customer_by_id() {
         given()
@@ -168,8 +387,191 @@ class CustomerControllerIT {
                 .body("items", hasSize(1))
                 .body("page", equalTo(0))
                 .body("size", equalTo(1))
-                .body("total", greaterThanOrEqualTo(2));
+                .body("total", greaterThanOrEqualTo(2))
+                .body("totalMode", equalTo("exact"));
+
+    }
 
+    @Test
+    void should_omit_total_when_requested() {
+        given()
+                .queryParam("total", "none")
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("total", nullValue())
+                .body("totalMode", equalTo("none"));
+    }
+
+    @Test
+    void should_return_cached_total_when_requested() {
+        given()
+                .queryParam("country", "US")
+                .queryParam("total", "cached")
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("total", greaterThanOrEqualTo(2))
+                .body("totalMode", equalTo("cached"));
+    }
+
+    @Test
+    void should_page_customers_by_cursor() {
+        String nextCursor = given()
+                .queryParam("country", "US")
+                .queryParam("pagination", "cursor")
+                .queryParam("size", 1)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(1))
+                .body("total", nullValue())
+                .body("nextCursor", notNullValue())
+                .extract().path("nextCursor");
+
+        given()
+                .queryParam("country", "US")
+                .queryParam("cursor", nextCursor)
+                .queryParam("size", 100)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .body("items", everyItem(hasEntry("country", "US")))
+                .body("items.id", hasItem(c2Id.intValue()))
+                .body("nextCursor", nullValue());
+    }
+
+    @Test
+    void should_fail_with_invalid_cursor() {
+        given()
+                .queryParam("cursor", "not-a-cursor")
+                .when()
+                .get()
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void should_fail_when_cursor_belongs_to_another_country() {
+        String nextCursor = given()
+                .queryParam("country", "US")
+                .queryParam("pagination", "cursor")
+                .queryParam("size", 1)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract().path("nextCursor");
+
+        given()
+                .queryParam("country", "CA")
+                .queryParam("cursor", nextCursor)
+                .when()
+                .get()
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void should_get_customer_count_per_country() {
+        given()
+                .when()
+                .get("/stats/countries")
+                .then()
+                .statusCode(200)
+                .body("find { it.country == 'US' }.customers", greaterThanOrEqualTo(2));
+    }
+
+    @Test
+    void should_lookup_customers_by_ids_in_request_order() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(c2Id, -1L, c1Id))
+                .when()
+                .post("/lookup")
+                .then()
+                .statusCode(200)
+                .body("found", equalTo(2))
+                .body("missing", equalTo(1))
+                .body("items.id", contains(c2Id.intValue(), -1, c1Id.intValue()))
+                .body("items.status", contains("found", "not_found", "found"))
+                .body("items[0].customer.email", equalTo("jane@test.com"))
+                .body("items[1].customer", nullValue())
+                .body("items[2].customer.email", equalTo("john@test.com"));
+    }
+
+    @Test
+    void should_reject_empty_lookup() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of())
+                .when()
+                .post("/lookup")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void should_reject_lookup_above_maximum() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(LongStream.rangeClosed(1, 501).boxed().toList())
+                .when()
+                .post("/lookup")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void should_search_customers_by_partial_name() {
+        given()
+                .queryParam("q", "SMI")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(200)
+                .body("query", equalTo("SMI"))
+                .body("limit", equalTo(20))
+                .body("items.email", hasItem("jane@test.com"))
+                .body("items.email", not(hasItem("john@test.com")));
+    }
+
+    @Test
+    void should_rank_exact_email_first_in_search() {
+        given()
+                .queryParam("q", "john@test.com")
+                .queryParam("limit", 1)
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(1))
+                .body("items[0].email", equalTo("john@test.com"));
+    }
+
+    @Test
+    void should_reject_too_short_search() {
+        given()
+                .queryParam("q", "jo")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void should_reject_search_limit_above_maximum() {
+        given()
+                .queryParam("q", "john")
+                .queryParam("limit", 51)
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(400);
     }
 
     @Test
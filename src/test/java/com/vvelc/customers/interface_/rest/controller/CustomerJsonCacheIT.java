@@ -0,0 +1,94 @@
+package com.vvelc.customers.interface_.rest.controller;
+
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import com.vvelc.customers.infrastructure.adapter.cache.CustomerByIdCache;
+import com.vvelc.customers.interface_.rest.dto.CustomerUpdateRequest;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@TestProfile(CustomerJsonCacheIT.JsonCacheProfile.class)
+@TestHTTPEndpoint(CustomerController.class)
+class CustomerJsonCacheIT {
+
+    public static class JsonCacheProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("customers.customer-cache.mode", "json");
+        }
+    }
+
+    @Inject
+    CustomerRepository repository;
+
+    @Inject
+    CustomerByIdCache cache;
+
+    Long id;
+
+    @BeforeEach
+    @Transactional
+    void setup() {
+        id = repository.save(new Customer(null, "John", null, "Doe", null, "json.cache@test.com", "Address1", "123", "US", "American")).getId();
+    }
+
+    @AfterEach
+    @Transactional
+    void clean() {
+        repository.deleteById(id);
+    }
+
+    @Test
+    void should_serve_cached_json_until_the_customer_changes() {
+        given().when().get("/{id}", id).then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("email", equalTo("json.cache@test.com"));
+        assertThat(cache.getJson(id)).isPresent();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new CustomerUpdateRequest(null, "New Address", null, null))
+                .when()
+                .put("/{id}", id)
+                .then()
+                .statusCode(200);
+        assertThat(cache.getJson(id)).isEmpty();
+
+        given().when().get("/{id}", id).then()
+                .statusCode(200)
+                .body("address", equalTo("New Address"));
+    }
+
+    @Test
+    void should_serve_the_cached_bytes_without_reading_the_customer() {
+        cache.putJson(id, "{\"email\":\"cached@test.com\"}".getBytes(), cache.generation(id));
+
+        given().when().get("/{id}", id).then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("email", equalTo("cached@test.com"));
+    }
+
+    @Test
+    void should_not_cache_missing_customers() {
+        given().when().get("/{id}", 999999).then().statusCode(404);
+
+        assertThat(cache.getJson(999999L)).isEmpty();
+    }
+}
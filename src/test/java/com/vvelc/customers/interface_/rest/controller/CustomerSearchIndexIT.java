@@ -0,0 +1,100 @@
+package com.vvelc.customers.interface_.rest.controller;
+
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import com.vvelc.customers.interface_.rest.dto.CustomerUpdateRequest;
+import io.quarkus.test.common.http.TestHTTPEndpoint;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+@TestProfile(CustomerSearchIndexIT.MemorySearchProfile.class)
+@TestHTTPEndpoint(CustomerController.class)
+class CustomerSearchIndexIT {
+
+    public static class MemorySearchProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("customers.search.backend", "memory");
+        }
+    }
+
+    @Inject
+    CustomerRepository repository;
+
+    Long johnId;
+    Long janeId;
+
+    @BeforeEach
+    @Transactional
+    void setup() {
+        johnId = repository.save(new Customer(null, "John", null, "Indexed", null, "john.indexed@test.com", "Address1", "123", "US", "American")).getId();
+        janeId = repository.save(new Customer(null, "Jane", null, "Smith", "Indexed", "jane.indexed@test.com", "Address2", "456", "US", "American")).getId();
+    }
+
+    @AfterEach
+    @Transactional
+    void clean() {
+        repository.deleteById(johnId);
+        repository.deleteById(janeId);
+    }
+
+    @Test
+    void should_search_committed_customers_in_the_index() {
+        given()
+                .queryParam("q", "INDEXED")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(200)
+                .body("items.id", contains(johnId.intValue(), janeId.intValue()))
+                .body("items[1].firstLastName", equalTo("Smith"));
+
+        given()
+                .queryParam("q", "jane.indexed@test.com")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(200)
+                .body("items.id", contains(janeId.intValue()));
+    }
+
+    @Test
+    void should_reflect_updates_and_deletions_in_the_index() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(new CustomerUpdateRequest("john.renamed@test.com", null, null, null))
+                .when()
+                .put("/{id}", johnId)
+                .then()
+                .statusCode(200);
+        given().when().delete("/{id}", janeId).then().statusCode(204);
+
+        given()
+                .queryParam("q", "renamed")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(200)
+                .body("items.id", contains(johnId.intValue()));
+        given()
+                .queryParam("q", "indexed@test")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(200)
+                .body("items", empty());
+    }
+}
@@ -0,0 +1,82 @@
+package com.vvelc.customers.interface_.rest.controller;
+
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.domain.repository.CustomerRepository;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * The Vert.x client has no H2 driver, so this runs against the PostgreSQL database at
+ * {@code customers.it.postgres.url}, migrated at start. It adds one customer and removes it afterwards.
+ */
+@QuarkusTest
+@EnabledIfSystemProperty(named = "customers.it.postgres.url", matches = ".+")
+@TestProfile(ReactiveCustomerControllerIT.ReactiveProfile.class)
+class ReactiveCustomerControllerIT {
+
+    public static class ReactiveProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "customers.reactive.enabled", "true",
+                    "%test.quarkus.datasource.db-kind", "postgresql",
+                    "%test.quarkus.datasource.jdbc.driver", "org.postgresql.Driver",
+                    "%test.quarkus.datasource.jdbc.url", System.getProperty("customers.it.postgres.url"),
+                    "%test.quarkus.datasource.username", System.getProperty("customers.it.postgres.user", "quarkus"),
+                    "%test.quarkus.datasource.password", System.getProperty("customers.it.postgres.password", "quarkus"),
+                    "%test.quarkus.hibernate-orm.database.generation", "none",
+                    "%test.quarkus.flyway.migrate-at-start", "true");
+        }
+    }
+
+    @Inject
+    CustomerRepository repository;
+
+    Long id;
+
+    @BeforeEach
+    @Transactional
+    void setup() {
+        id = repository.save(new Customer(null, "Nora", null, "Reyes", null, "nora.reactive@test.com", "Street 1",
+                "8091231234", "DO", "Dominican")).getId();
+    }
+
+    @AfterEach
+    @Transactional
+    void clean() {
+        repository.deleteById(id);
+    }
+
+    @Test
+    void should_get_the_same_customer_as_the_blocking_endpoint() {
+        String blocking = given().when().get(CustomerController.PATH + "/{id}", id).then()
+                .statusCode(200)
+                .extract().asString();
+
+        given().when().get(ReactiveCustomerController.PATH + "/{id}", id).then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("email", equalTo("nora.reactive@test.com"))
+                .body("demonym", equalTo("Dominican"))
+                .body(equalTo(blocking));
+    }
+
+    @Test
+    void should_return_404_when_customer_not_found() {
+        given().when().get(ReactiveCustomerController.PATH + "/{id}", Long.MAX_VALUE).then()
+                .statusCode(404);
+    }
+}
@@ -111,16 +111,16 @@ class CustomerDtoValidationTest {
 
         @Test
         void should_pass_with_valid_values() {
-            var query = new CustomerQueryParams("US", 0, 10);
+            var query = new CustomerQueryParams("US", 0, 10, "cached", "offset", null);
             Set<ConstraintViolation<CustomerQueryParams>> violations = validator.validate(query);
             assertThat(violations).isEmpty();
         }
 
         @Test
         void should_fail_with_invalid_country_and_page_and_size() {
-            var query = new CustomerQueryParams("usa", -1, 101);
+            var query = new CustomerQueryParams("usa", -1, 101, "all", "keyset", null);
             Set<ConstraintViolation<CustomerQueryParams>> violations = validator.validate(query);
-            assertThat(violations).extracting(v -> v.getPropertyPath().toString()).contains("country", "page", "size");
+            assertThat(violations).extracting(v -> v.getPropertyPath().toString()).contains("country", "page", "size", "total", "pagination");
         }
     }
 }
@@ -0,0 +1,124 @@
+package com.vvelc.customers.interface_.rest.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelc.customers.domain.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CustomerImportReaderTest {
+
+    @Test
+    void should_read_one_customer_per_ndjson_line() {
+        List<CustomerImportReader.Row> rows = readAll(CustomerImportFormat.NDJSON, """
+                {"firstName":"Mark","firstLastName":"Wayne","email":"mark@test.com","country":"US"}
+
+                {"firstName":
+                {"firstName":"Jane","firstLastName":"Smith","email":"jane@test.com","country":"CA"}\r
+                """);
+
+        assertThat(rows).extracting(CustomerImportReader.Row::line).containsExactly(1L, 3L, 4L);
+        assertThat(rows.get(0).request().email()).isEqualTo("mark@test.com");
+        assertThat(rows.get(1).error()).startsWith("Malformed JSON");
+        assertThat(rows.get(2).request().country()).isEqualTo("CA");
+    }
+
+    @Test
+    void should_read_csv_columns_by_header_name() {
+        List<CustomerImportReader.Row> rows = readAll(CustomerImportFormat.CSV, """
+                email,firstName,firstLastName,address,phone,country
+                mark@test.com,Mark,Wayne,"Street 1, ""Apt"" 2",8091231234,US
+                jane@test.com,Jane,,Street 2,8091231234
+                omar@test.com,"Omar
+                """);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).request().address()).isEqualTo("Street 1, \"Apt\" 2");
+        assertThat(rows.get(0).request().secondName()).isNull();
+        assertThat(rows.get(1).request().firstLastName()).isNull();
+        assertThat(rows.get(1).request().country()).isNull();
+        assertThat(rows.get(2).line()).isEqualTo(4);
+        assertThat(rows.get(2).error()).isEqualTo("Unterminated quoted value");
+    }
+
+    @Test
+    void should_reject_unknown_csv_columns() {
+        assertThatThrownBy(() -> readAll(CustomerImportFormat.CSV, "email,nickname\n"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("nickname");
+    }
+
+    @Test
+    void should_skip_lines_that_are_too_long() {
+        String tooLong = "x".repeat(CustomerImportReader.MAX_LINE_LENGTH + 1);
+        List<CustomerImportReader.Row> rows = readAll(CustomerImportFormat.NDJSON,
+                tooLong + "\n{\"email\":\"mark@test.com\"}");
+
+        assertThat(rows.get(0).error()).contains("exceeds");
+        assertThat(rows.get(1).line()).isEqualTo(2);
+        assertThat(rows.get(1).request().email()).isEqualTo("mark@test.com");
+    }
+
+    @Test
+    void should_stop_reading_past_the_byte_limit() {
+        String line = "{\"email\":\"mark@test.com\"}\n";
+        long maxBytes = line.length() * 2L + 5;
+        CustomerImportReader reader = reader(CustomerImportFormat.NDJSON, line.repeat(3), maxBytes, 10);
+
+        List<CustomerImportReader.Row> rows = readAll(reader);
+
+        assertThat(rows).extracting(CustomerImportReader.Row::line).containsExactly(1L, 2L);
+        assertThat(reader.limitExceeded()).isEqualTo("Body exceeds " + maxBytes + " bytes; stopped after line 2");
+    }
+
+    @Test
+    void should_stop_reading_past_the_line_limit() {
+        CustomerImportReader reader = reader(CustomerImportFormat.CSV, """
+                email,firstName
+                mark@test.com,Mark
+                jane@test.com,Jane
+                """, Long.MAX_VALUE, 2);
+
+        List<CustomerImportReader.Row> rows = readAll(reader);
+
+        assertThat(rows).hasSize(1);
+        assertThat(reader.limitExceeded()).isEqualTo("Body exceeds 2 lines; stopped after line 2");
+    }
+
+    @Test
+    void should_read_a_body_that_fits_the_limits_exactly() {
+        String body = "email\nmark@test.com\n";
+        CustomerImportReader reader = reader(CustomerImportFormat.CSV, body, body.length(), 2);
+
+        assertThat(readAll(reader)).hasSize(1);
+        assertThat(reader.limitExceeded()).isNull();
+    }
+
+    @Test
+    void should_decode_lines_as_utf8() {
+        List<CustomerImportReader.Row> rows = readAll(CustomerImportFormat.CSV, "email,firstName\nines@test.com,Inés\n");
+
+        assertThat(rows.get(0).request().firstName()).isEqualTo("Inés");
+    }
+
+    private static List<CustomerImportReader.Row> readAll(CustomerImportFormat format, String body) {
+        return readAll(reader(format, body, Long.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    private static CustomerImportReader reader(CustomerImportFormat format, String body, long maxBytes, long maxLines) {
+        return format.reader(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), maxBytes, maxLines,
+                new ObjectMapper());
+    }
+
+    private static List<CustomerImportReader.Row> readAll(CustomerImportReader reader) {
+        List<CustomerImportReader.Row> rows = new ArrayList<>();
+        CustomerImportReader.Row row;
+        while ((row = reader.next()) != null) rows.add(row);
+        return rows;
+    }
+}
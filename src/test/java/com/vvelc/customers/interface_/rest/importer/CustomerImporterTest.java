@@ -0,0 +1,106 @@
+package com.vvelc.customers.interface_.rest.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vvelc.customers.application.model.CustomerBatchResult;
+import com.vvelc.customers.application.service.CustomerService;
+import com.vvelc.customers.domain.exception.CountryServiceException;
+import com.vvelc.customers.domain.model.Customer;
+import com.vvelc.customers.interface_.rest.dto.CustomerImportErrorResponse;
+import com.vvelc.customers.interface_.rest.dto.CustomerImportResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.runtime.configuration.MemorySize;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class CustomerImporterTest {
+
+    static final String CSV = """
+            firstName,firstLastName,email,address,phone,country
+            Mark,Wayne,mark@test.com,Street 1,8091231234,US
+            Lena,Park,lena@test.com,Street 2,8091231234,US
+            Omar,Diaz,omar@test.com,Street 3,8091231234,CA
+            Ana,Ruiz,ana@test.com,Street 4,8091231234,CA
+            """;
+
+    CustomerService customerService;
+    SimpleMeterRegistry meterRegistry;
+    CustomerImporter importer;
+
+    @BeforeEach
+    void setup() {
+        customerService = mock(CustomerService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        importer = new CustomerImporter(customerService, Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(), meterRegistry, 2, 100, new MemorySize(BigInteger.valueOf(1_000_000)), 1_000);
+    }
+
+    @Test
+    void should_report_the_rows_of_a_failed_chunk_and_continue() {
+        when(customerService.createCustomers(anyList()))
+                .thenThrow(new CountryServiceException("Country API unavailable"))
+                .thenAnswer(invocation -> created(invocation.getArgument(0)));
+
+        CustomerImportResponse response = importCsv();
+
+        assertThat(response.lines()).isEqualTo(5);
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.failed()).isEqualTo(2);
+        assertThat(response.chunks()).isEqualTo(1);
+        assertThat(response.errors())
+                .extracting(CustomerImportErrorResponse::line, CustomerImportErrorResponse::status)
+                .containsExactly(tuple(2L, "failed"), tuple(3L, "failed"));
+        assertThat(response.errors().get(0).error()).isEqualTo("Chunk not created: Country API unavailable");
+        assertThat(meterRegistry.get("customers.imported").tag("status", "failed").counter().count()).isEqualTo(2);
+        verify(customerService, times(2)).createCustomers(anyList());
+    }
+
+    @Test
+    void should_return_a_summary_when_every_chunk_fails() {
+        when(customerService.createCustomers(anyList()))
+                .thenThrow(new CountryServiceException("Country API unavailable"));
+
+        CustomerImportResponse response = importCsv();
+
+        assertThat(response.created()).isZero();
+        assertThat(response.failed()).isEqualTo(4);
+        assertThat(response.chunks()).isZero();
+    }
+
+    @Test
+    void should_report_a_registered_email_on_its_own_row() {
+        when(customerService.createCustomers(anyList()))
+                .thenAnswer(invocation -> created(invocation.getArgument(0)))
+                .thenReturn(List.of(
+                        CustomerBatchResult.conflict("Email already registered: omar@test.com"),
+                        CustomerBatchResult.created(new Customer())));
+
+        CustomerImportResponse response = importCsv();
+
+        assertThat(response.created()).isEqualTo(3);
+        assertThat(response.conflicts()).isEqualTo(1);
+        assertThat(response.failed()).isZero();
+        assertThat(response.chunks()).isEqualTo(2);
+        assertThat(response.errors())
+                .extracting(CustomerImportErrorResponse::line, CustomerImportErrorResponse::status)
+                .containsExactly(tuple(4L, "conflict"));
+    }
+
+    private CustomerImportResponse importCsv() {
+        return importer.importCustomers(
+                new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)), CustomerImportFormat.CSV);
+    }
+
+    private static List<CustomerBatchResult> created(List<Customer> customers) {
+        return customers.stream().map(CustomerBatchResult::created).toList();
+    }
+}